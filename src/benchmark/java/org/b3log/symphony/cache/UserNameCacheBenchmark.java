@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.cache;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.b3log.latke.model.User;
+import org.b3log.symphony.model.UserExt;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link UserNameCache} load benchmark, measures the heap retained per user.
+ *
+ * <p>
+ * Every invocation loads synthetic users page by page into a new cache, as
+ * {@link org.b3log.symphony.service.UserQueryService} does at startup. The users of a page are generated right before
+ * loaded and dropped after, so only the cache retains their strings. After every iteration, the used heap (after GC,
+ * see {@link MemoryMXBean}) is compared with the one before, the retained heap per user is printed with the estimated
+ * one of {@link UserNameCache#getStatistic()}.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 1.4.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class UserNameCacheBenchmark {
+
+    /**
+     * Size of a page of users.
+     */
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * User count.
+     */
+    @Param({"10000", "100000"})
+    private int userCnt;
+
+    /**
+     * Cache loaded by the current iteration.
+     */
+    private UserNameCache cache;
+
+    /**
+     * Used heap before the current iteration.
+     */
+    private long usedHeapBefore;
+
+    /**
+     * Records the used heap before an iteration.
+     *
+     * @throws Exception exception
+     */
+    @Setup(Level.Iteration)
+    public void before() throws Exception {
+        cache = null;
+        usedHeapBefore = getUsedHeap();
+    }
+
+    /**
+     * Benchmarks loading the users.
+     *
+     * @return cache
+     */
+    @Benchmark
+    public UserNameCache load() {
+        final UserNameCache ret = new UserNameCache();
+        ret.startLoad();
+
+        for (int offset = 0; offset < userCnt; offset += PAGE_SIZE) {
+            ret.loadPage(getUsers(offset, Math.min(PAGE_SIZE, userCnt - offset)));
+        }
+
+        ret.endLoad();
+
+        cache = ret;
+
+        return ret;
+    }
+
+    /**
+     * Measures the heap retained by the cache loaded in an iteration.
+     *
+     * @throws Exception exception
+     */
+    @TearDown(Level.Iteration)
+    public void after() throws Exception {
+        final long retained = getUsedHeap() - usedHeapBefore;
+        final long estimated = cache.getStatistic().optLong("estimatedHeapSizePerUser");
+
+        System.out.println("UserNameCache [users=" + userCnt + "]: retained heap per user [" + retained / userCnt
+                + "B], estimated [" + estimated + "B]");
+
+        cache = null;
+    }
+
+    /**
+     * Generates the specified count of users starting from the specified offset.
+     *
+     * <p>
+     * Half of the usernames are capitalized, their lower case keys are separate strings.
+     * </p>
+     *
+     * @param offset the specified offset
+     * @param count the specified count
+     * @return users
+     */
+    private static List<JSONObject> getUsers(final int offset, final int count) {
+        final List<JSONObject> ret = new ArrayList<JSONObject>(count);
+        final long now = System.currentTimeMillis();
+
+        for (int i = offset; i < offset + count; i++) {
+            final JSONObject user = new JSONObject();
+            user.put(User.USER_NAME, (0 == i % 2 ? "user" : "User") + i);
+            user.put(UserExt.USER_AVATAR_URL, "https://img.hacpai.com/avatar/" + (1453702040000L + i)
+                    + "?imageView2/1/w/128/h/128/interlace/0/q/100");
+            user.put(UserExt.USER_LATEST_LOGIN_TIME, now - i * 1000L);
+            user.put(UserExt.USER_LATEST_ARTICLE_TIME, 0L);
+            user.put(UserExt.USER_LATEST_CMT_TIME, 0L);
+
+            ret.add(user);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the used heap after GC.
+     *
+     * @return used heap (in bytes)
+     * @throws Exception exception
+     */
+    private static long getUsedHeap() throws Exception {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        long ret = Long.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            memory.gc();
+            Thread.sleep(100);
+
+            ret = Math.min(ret, memory.getHeapMemoryUsage().getUsed());
+        }
+
+        return ret;
+    }
+}
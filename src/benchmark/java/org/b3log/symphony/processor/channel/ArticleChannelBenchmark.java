@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.processor.channel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.websocket.Session;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.util.Strings;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Common;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ArticleChannel#notifyHeat(org.json.JSONObject)} load benchmark with thousands of simulated sessions, the
+ * article id index against the legacy scan of all sessions.
+ *
+ * <p>
+ * The sessions (see {@link ArticleChannelTestCase#newSession(java.lang.String)}) are spread over
+ * {@value #ARTICLE_CNT} articles evenly, every invocation notifies the next article.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 1.4.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArticleChannelBenchmark {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Simulated article count.
+     */
+    private static final int ARTICLE_CNT = 500;
+
+    /**
+     * Simulated session count.
+     */
+    @Param({"1000", "5000", "20000"})
+    private int sessionCnt;
+
+    /**
+     * Channel.
+     */
+    private final ArticleChannel channel = new ArticleChannel();
+
+    /**
+     * Simulated sessions.
+     */
+    private final List<Session> sessions = new ArrayList<Session>();
+
+    /**
+     * Article ids.
+     */
+    private final String[] articleIds = new String[ARTICLE_CNT];
+
+    /**
+     * Heat message.
+     */
+    private final JSONObject message = new JSONObject();
+
+    /**
+     * Invocation count.
+     */
+    private int round;
+
+    /**
+     * Connects the simulated sessions.
+     */
+    @Setup
+    public void setup() {
+        for (int i = 0; i < ARTICLE_CNT; i++) {
+            articleIds[i] = String.valueOf(i);
+        }
+
+        final ArticleChannelTestCase testCase = new ArticleChannelTestCase();
+        for (int i = 0; i < sessionCnt; i++) {
+            final Session session = testCase.newSession(articleIds[i % ARTICLE_CNT]);
+            sessions.add(session);
+            channel.onConnect(session);
+        }
+
+        message.put(Common.OPERATION, "+");
+    }
+
+    /**
+     * Closes the simulated sessions.
+     */
+    @TearDown
+    public void tearDown() {
+        for (final Session session : sessions) {
+            channel.onClose(session, null);
+        }
+
+        sessions.clear();
+    }
+
+    /**
+     * Benchmarks {@link ArticleChannel#notifyHeat(org.json.JSONObject)}.
+     */
+    @Benchmark
+    public void notifyHeat() {
+        message.put(Article.ARTICLE_T_ID, articleIds[round++ % ARTICLE_CNT]);
+
+        ArticleChannel.notifyHeat(message);
+    }
+
+    /**
+     * Benchmarks the legacy implementation of {@link ArticleChannel#notifyHeat(org.json.JSONObject)}.
+     */
+    @Benchmark
+    public void notifyHeatLegacy() {
+        message.put(Article.ARTICLE_T_ID, articleIds[round++ % ARTICLE_CNT]);
+
+        legacyNotifyHeat(message);
+    }
+
+    /**
+     * The legacy implementation of {@link ArticleChannel#notifyHeat(org.json.JSONObject)}, scans all sessions.
+     *
+     * @param message the specified message
+     */
+    private static void legacyNotifyHeat(final JSONObject message) {
+        message.put(Common.TYPE, Article.ARTICLE_T_HEAT);
+
+        final String msgStr = message.toString();
+
+        for (final Session session : ArticleChannel.SESSIONS) {
+            final String viewingArticleId = (String) Channels.getHttpParameter(session, Article.ARTICLE_T_ID);
+            if (Strings.isEmptyOrNull(viewingArticleId)
+                    || !viewingArticleId.equals(message.optString(Article.ARTICLE_T_ID))) {
+                continue;
+            }
+
+            if (session.isOpen()) {
+                session.getAsyncRemote().sendText(msgStr);
+            }
+        }
+    }
+}
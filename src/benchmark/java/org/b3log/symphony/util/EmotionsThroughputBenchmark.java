@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.util;
+
+import com.vdurmont.emoji.EmojiParser;
+import java.util.concurrent.TimeUnit;
+import org.b3log.latke.Latkes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Emotions#clear(java.lang.String)} and {@link Emotions#toAliases(java.lang.String)} throughput benchmark
+ * with 10KB and 100KB contents, against the legacy implementations.
+ *
+ * <p>
+ * Multiplies the score (ops/s) by the content size for the throughput in bytes per second.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 1.4.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmotionsThroughputBenchmark {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Content size (in chars).
+     */
+    @Param({"10240", "102400"})
+    private int size;
+
+    /**
+     * Content, ends with a unicode emoji.
+     */
+    private String content;
+
+    /**
+     * Generates the content.
+     */
+    @Setup
+    public void setup() {
+        content = EmotionsTestCase.content(size) + "\uD83D\uDE04";
+    }
+
+    /**
+     * Benchmarks the legacy implementation of {@link Emotions#clear(java.lang.String)}.
+     *
+     * @return cleared content
+     */
+    @Benchmark
+    public String clearLegacy() {
+        return EmotionsTestCase.legacyClear(content);
+    }
+
+    /**
+     * Benchmarks {@link Emotions#clear(java.lang.String)}.
+     *
+     * @return cleared content
+     */
+    @Benchmark
+    public String clear() {
+        return Emotions.clear(content);
+    }
+
+    /**
+     * Benchmarks the legacy implementation of {@link Emotions#toAliases(java.lang.String)}.
+     *
+     * @return converted content
+     */
+    @Benchmark
+    public String toAliasesLegacy() {
+        return EmojiParser.parseToAliases(content);
+    }
+
+    /**
+     * Benchmarks {@link Emotions#toAliases(java.lang.String)}.
+     *
+     * @return converted content
+     */
+    @Benchmark
+    public String toAliases() {
+        return Emotions.toAliases(content);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.util;
+
+import java.util.concurrent.TimeUnit;
+import org.b3log.latke.Latkes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MarkdownEngine} benchmark, compares the engines with typical article sizes.
+ *
+ * <p>
+ * The articles are cut from the markdown syntax document of the test resources.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 1.4.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkdownEngineBenchmark {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Engine name.
+     */
+    @Param({"papers", "commonmark"})
+    private String engineName;
+
+    /**
+     * Article size (in chars).
+     */
+    @Param({"1024", "8192", "65536"})
+    private int size;
+
+    /**
+     * Engine.
+     */
+    private MarkdownEngine engine;
+
+    /**
+     * Markdown text.
+     */
+    private String markdownText;
+
+    /**
+     * Rendered HTML, reused across invocations.
+     */
+    private final StringBuilder html = new StringBuilder();
+
+    /**
+     * Gets the engine and generates the markdown text.
+     *
+     * @throws Exception exception
+     */
+    @Setup
+    public void setup() throws Exception {
+        engine = Markdowns.getEngine(engineName);
+
+        final String syntax = MarkdownsTestCase.syntax();
+        final StringBuilder builder = new StringBuilder();
+        while (builder.length() < size) {
+            builder.append(syntax);
+        }
+        markdownText = builder.substring(0, size);
+    }
+
+    /**
+     * Benchmarks {@link MarkdownEngine#render(java.lang.String, java.lang.Appendable)}.
+     *
+     * @return rendered HTML length
+     * @throws Exception exception
+     */
+    @Benchmark
+    public int render() throws Exception {
+        html.setLength(0);
+        engine.render(markdownText, html);
+
+        return html.length();
+    }
+}
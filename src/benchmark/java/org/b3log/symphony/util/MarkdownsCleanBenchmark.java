@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.util;
+
+import java.util.concurrent.TimeUnit;
+import org.b3log.latke.Latkes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Markdowns#clean(java.lang.String, java.lang.String)} benchmark, against the legacy (clean and parse again)
+ * implementation.
+ *
+ * <p>
+ * The samples are:
+ * <ul>
+ * <li>text: a plain text comment (about 1KB) without any tag or entity, takes the fast path</li>
+ * <li>title: an article title, takes the fast path</li>
+ * <li>body: the rendered markdown syntax document, traversed once with the prebuilt whitelist</li>
+ * </ul>
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 1.4.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkdownsCleanBenchmark {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Sample name.
+     */
+    @Param({"text", "title", "body"})
+    private String sample;
+
+    /**
+     * Content.
+     */
+    private String content;
+
+    /**
+     * Generates the content.
+     *
+     * @throws Exception exception
+     */
+    @Setup
+    public void setup() throws Exception {
+        if ("text".equals(sample)) {
+            final StringBuilder builder = new StringBuilder();
+            while (builder.length() < 1024) {
+                builder.append("Symphony \u662f\u4e00\u4e2a\u73b0\u4ee3\u5316\u7684\u793e\u533a\u5e73\u53f0, ")
+                        .append("see http://hacpai.com for more details.\n");
+            }
+            content = builder.toString();
+        } else if ("title".equals(sample)) {
+            content = "Symphony \u662f\u4e00\u4e2a\u73b0\u4ee3\u5316\u7684\u793e\u533a\u5e73\u53f0";
+        } else {
+            content = Markdowns.toHTML(MarkdownsTestCase.syntax());
+        }
+    }
+
+    /**
+     * Benchmarks the legacy implementation.
+     *
+     * @return safe HTML content
+     */
+    @Benchmark
+    public String cleanLegacy() {
+        return MarkdownsTestCase.legacyClean(content, "");
+    }
+
+    /**
+     * Benchmarks {@link Markdowns#clean(java.lang.String, java.lang.String)}.
+     *
+     * @return safe HTML content
+     */
+    @Benchmark
+    public String clean() {
+        return Markdowns.clean(content, "");
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.b3log.latke.Latkes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link Times#getTimeAgos(long[], java.util.Locale)} benchmark, formats a page of 46 articles against the legacy
+ * per-call {@link Times#getTimeAgo(long, java.util.Locale)}.
+ *
+ * <p>
+ * The legacy implementation also looked up the language service bean and its labels per call, which is not counted
+ * here, so the gain is understated.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 1.4.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimesBenchmark {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Article count of a page.
+     */
+    private static final int PAGE_SIZE = 46;
+
+    /**
+     * Times of the articles.
+     */
+    private final long[] times = new long[PAGE_SIZE];
+
+    /**
+     * Generates the times, from just now to three years ago, most of them are recent.
+     */
+    @Setup
+    public void setup() {
+        final Random random = new Random(PAGE_SIZE);
+        final long now = System.currentTimeMillis();
+
+        for (int i = 0; i < times.length; i++) {
+            times[i] = now - (long) (Math.pow(random.nextDouble(), 3) * 3 * TimesTestCase.YEAR);
+        }
+    }
+
+    /**
+     * Benchmarks the legacy implementation, formats the page per article.
+     *
+     * @return time ago texts
+     */
+    @Benchmark
+    public String[] getTimeAgosLegacy() {
+        final String[] ret = new String[times.length];
+        for (int i = 0; i < times.length; i++) {
+            ret[i] = TimesTestCase.legacyFormat(System.currentTimeMillis() - times[i]);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Benchmarks {@link Times#getTimeAgos(long[], java.util.Locale)}.
+     *
+     * @return time ago texts
+     */
+    @Benchmark
+    public String[] getTimeAgos() {
+        return Times.getTimeAgos(times, TimesTestCase.LOCALE);
+    }
+}
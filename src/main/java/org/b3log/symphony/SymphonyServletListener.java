@@ -15,9 +15,16 @@
  */
 package org.b3log.symphony;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.ResourceBundle;
+import java.util.Set;
 import javax.servlet.ServletContextEvent;
 import javax.servlet.ServletRequestEvent;
 import javax.servlet.http.Cookie;
@@ -35,6 +42,7 @@ import org.b3log.latke.model.Role;
 import org.b3log.latke.model.User;
 import org.b3log.latke.repository.Transaction;
 import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.latke.repository.jdbc.util.Connections;
 import org.b3log.latke.repository.jdbc.util.JdbcRepositories;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.servlet.AbstractServletListener;
@@ -43,17 +51,26 @@ import org.b3log.latke.util.Requests;
 import org.b3log.latke.util.StaticResources;
 import org.b3log.latke.util.Stopwatchs;
 import org.b3log.latke.util.Strings;
+import org.b3log.symphony.cache.FragmentCache;
 import org.b3log.symphony.event.ArticleBaiduSender;
+import org.b3log.symphony.event.ArticleCacheCleaner;
 import org.b3log.symphony.event.ArticleNotifier;
 import org.b3log.symphony.event.CommentNotifier;
+import org.b3log.symphony.event.EventTypes;
+import org.b3log.symphony.event.FragmentCacheCleaner;
 import org.b3log.symphony.event.solo.ArticleSender;
 import org.b3log.symphony.event.solo.ArticleUpdater;
 import org.b3log.symphony.event.solo.CommentSender;
 import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Comment;
 import org.b3log.symphony.model.Option;
 import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.repository.ArticleRepository;
+import org.b3log.symphony.repository.CommentRepository;
 import org.b3log.symphony.repository.OptionRepository;
 import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.processor.channel.HeatDispatcher;
+import org.b3log.symphony.processor.channel.OnlineVisitors;
 import org.b3log.symphony.service.ArticleMgmtService;
 import org.b3log.symphony.service.UserMgmtService;
 import org.b3log.symphony.service.UserQueryService;
@@ -64,7 +81,7 @@ import org.json.JSONObject;
  * Symphony servlet listener.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.8.3.5, Feb 16, 2016
+ * @version 1.11.0.1, Oct 17, 2026
  * @since 0.2.0
  */
 public final class SymphonyServletListener extends AbstractServletListener {
@@ -120,6 +137,36 @@ public final class SymphonyServletListener extends AbstractServletListener {
         final CommentNotifier commentNotifier = beanManager.getReference(CommentNotifier.class);
         eventManager.registerListener(commentNotifier);
 
+        final ArticleCacheCleaner articleCacheCleaner = beanManager.getReference(ArticleCacheCleaner.class);
+        eventManager.registerListener(articleCacheCleaner);
+
+        final FragmentCache fragmentCache = beanManager.getReference(FragmentCache.class);
+        eventManager.registerListener(new FragmentCacheCleaner(fragmentCache, EventTypes.ADD_ARTICLE, // Not a bean
+                FragmentCache.STATISTIC, FragmentCache.TREND_TAGS, FragmentCache.NEW_TAGS, FragmentCache.SIDE_TAGS,
+                FragmentCache.RANDOM_ARTICLES));
+        eventManager.registerListener(new FragmentCacheCleaner(fragmentCache, EventTypes.UPDATE_ARTICLE, // Not a bean
+                FragmentCache.TREND_TAGS, FragmentCache.NEW_TAGS, FragmentCache.SIDE_TAGS,
+                FragmentCache.HOT_ARTICLES, FragmentCache.RANDOM_ARTICLES));
+        eventManager.registerListener(new FragmentCacheCleaner(fragmentCache, EventTypes.ADD_COMMENT_TO_ARTICLE, // Not a bean
+                FragmentCache.STATISTIC, FragmentCache.HOT_ARTICLES));
+
+        HeatDispatcher.start();
+        OnlineVisitors.start();
+
+        // Load usernames for mentions and autocompletion in background, see UserNameCache#isLoaded()
+        final Thread userNamesLoader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    beanManager.getReference(UserQueryService.class).loadUserNames();
+                } finally {
+                    JdbcRepository.dispose();
+                }
+            }
+        }, "UserNamesLoader");
+        userNamesLoader.setDaemon(true);
+        userNamesLoader.start();
+
         LOGGER.info("Initialized the context");
 
         Stopwatchs.end();
@@ -129,6 +176,12 @@ public final class SymphonyServletListener extends AbstractServletListener {
 
     @Override
     public void contextDestroyed(final ServletContextEvent servletContextEvent) {
+        final ArticleMgmtService articleMgmtService = beanManager.getReference(ArticleMgmtService.class);
+        articleMgmtService.flushArticleViewCounts(true);
+
+        HeatDispatcher.stop();
+        OnlineVisitors.stop();
+
         super.contextDestroyed(servletContextEvent);
 
         LOGGER.info("Destroyed the context");
@@ -203,6 +256,8 @@ public final class SymphonyServletListener extends AbstractServletListener {
             JdbcRepository.dispose();
 
             if (null != admins && !admins.isEmpty()) { // Initialized already
+                upgradeDB();
+
                 return;
             }
         } catch (final ServiceException e) {
@@ -322,6 +377,98 @@ public final class SymphonyServletListener extends AbstractServletListener {
         }
     }
 
+    /**
+     * Upgrades the database of an initialized Sym, adds the columns introduced after the tables were created.
+     *
+     * <p>
+     * The added columns are nullable, the derived HTML of the existing articles and comments is rendered by the
+     * cron, see {@link ArticleMgmtService#renderArticlesHTML(int)}, the latest participants of the existing articles
+     * are read with the comment query until they are generated, see
+     * {@link ArticleMgmtService#genLatestParticipants()}.
+     * </p>
+     */
+    private void upgradeDB() {
+        final String articleTable = beanManager.getReference(ArticleRepository.class).getName();
+        final String commentTable = beanManager.getReference(CommentRepository.class).getName();
+
+        final String[][] columns = {
+            {articleTable, Article.ARTICLE_LATEST_PARTICIPANTS, "TEXT"},
+            {articleTable, Article.ARTICLE_TITLE_HTML, "TEXT"},
+            {articleTable, Article.ARTICLE_CONTENT_HTML, "MEDIUMTEXT"},
+            {articleTable, Article.ARTICLE_REWARD_CONTENT_HTML, "MEDIUMTEXT"},
+            {articleTable, Article.ARTICLE_HTML_VERSION, "VARCHAR(64)"},
+            {commentTable, Comment.COMMENT_CONTENT_HTML, "MEDIUMTEXT"},
+            {commentTable, Comment.COMMENT_HTML_VERSION, "VARCHAR(64)"}
+        };
+
+        Connection connection = null;
+        Statement statement = null;
+
+        try {
+            connection = Connections.getConnection();
+            statement = connection.createStatement();
+
+            final DatabaseMetaData metaData = connection.getMetaData();
+            final Set<String> articleColumns = getColumnNames(connection, metaData, articleTable);
+            final Set<String> commentColumns = getColumnNames(connection, metaData, commentTable);
+
+            for (final String[] column : columns) {
+                final Set<String> tableColumns = articleTable.equals(column[0]) ? articleColumns : commentColumns;
+                if (tableColumns.contains(column[1].toLowerCase())) {
+                    continue;
+                }
+
+                final String sql = "ALTER TABLE " + column[0] + " ADD COLUMN " + column[1] + " " + column[2];
+                statement.executeUpdate(sql);
+
+                LOGGER.log(Level.INFO, "Upgraded database [{0}]", sql);
+            }
+        } catch (final SQLException e) {
+            LOGGER.log(Level.ERROR, "Upgrades database failed", e);
+        } finally {
+            try {
+                if (null != statement) {
+                    statement.close();
+                }
+
+                if (null != connection) {
+                    connection.close();
+                }
+            } catch (final SQLException e) {
+                LOGGER.log(Level.ERROR, "Closes connection failed", e);
+            }
+        }
+    }
+
+    /**
+     * Gets the column names (in lower case) of a table specified by the given table name.
+     *
+     * @param connection the specified connection
+     * @param metaData the specified database meta data
+     * @param tableName the given table name
+     * @return column names
+     * @throws SQLException SQL exception
+     */
+    private static Set<String> getColumnNames(final Connection connection, final DatabaseMetaData metaData,
+            final String tableName) throws SQLException {
+        final Set<String> ret = new HashSet<String>();
+
+        // Some databases (H2, etc) store the unquoted identifiers in upper case
+        for (final String name : new String[]{tableName, tableName.toUpperCase()}) {
+            final ResultSet resultSet = metaData.getColumns(connection.getCatalog(), null, name, null);
+
+            try {
+                while (resultSet.next()) {
+                    ret.add(resultSet.getString("COLUMN_NAME").toLowerCase());
+                }
+            } finally {
+                resultSet.close();
+            }
+        }
+
+        return ret;
+    }
+
     /**
      * Resolve skin (template) for the specified HTTP servlet request.
      *
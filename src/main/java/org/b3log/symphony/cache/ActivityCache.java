@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.cache;
+
+import java.util.Calendar;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.json.JSONObject;
+
+/**
+ * Activity cache.
+ *
+ * <p>
+ * Holds the daily activity state of users: whether a user has done an activity ({@link #CHECKIN},
+ * {@link #BET_1A0001}, {@link #COLLECT_1A0001}) today. The state of a user is packed into a long (day stamp, known
+ * activities bitmap and done activities bitmap) and read without locking. Once an activity is known (loaded from the
+ * database or marked done) it is authoritative for the rest of the day. All states are dropped at local midnight.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+@Named
+@Singleton
+public class ActivityCache {
+
+    /**
+     * Activity - daily checkin.
+     */
+    public static final int CHECKIN = 1;
+
+    /**
+     * Activity - bet 1A0001.
+     */
+    public static final int BET_1A0001 = 1 << 1;
+
+    /**
+     * Activity - collect 1A0001.
+     */
+    public static final int COLLECT_1A0001 = 1 << 2;
+
+    /**
+     * States &lt;userId, state&gt;, state: day stamp (high 32 bits) | known activities &lt;&lt; 8 | done activities.
+     */
+    private final ConcurrentMap<String, AtomicLong> states = new ConcurrentHashMap<String, AtomicLong>();
+
+    /**
+     * Day stamp of today (yyyyMMdd).
+     */
+    private volatile int today;
+
+    /**
+     * Next local midnight.
+     */
+    private volatile long nextMidnight;
+
+    /**
+     * Hit count.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * Miss count.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Is the specified activity done today by a user specified by the given user id?
+     *
+     * @param userId the given user id
+     * @param activity the specified activity
+     * @return {@code true} if done, {@code false} if not done, returns {@code null} if unknown
+     */
+    public Boolean isDone(final String userId, final int activity) {
+        final int day = today();
+        final AtomicLong state = states.get(userId);
+        if (null != state) {
+            final long value = state.get();
+
+            if (day == (int) (value >>> 32) && 0 != ((value >>> 8) & activity)) {
+                hitCount.incrementAndGet();
+
+                return 0 != (value & activity);
+            }
+        }
+
+        missCount.incrementAndGet();
+
+        return null;
+    }
+
+    /**
+     * Loads the specified state of an activity of a user specified by the given user id, keeps the known state.
+     *
+     * <p>
+     * Invokes this method with the state queried from the database after {@link #isDone(java.lang.String, int)}
+     * returned {@code null}.
+     * </p>
+     *
+     * @param userId the given user id
+     * @param activity the specified activity
+     * @param done the specified state, {@code true} for done
+     */
+    public void load(final String userId, final int activity, final boolean done) {
+        update(userId, activity, done, false);
+    }
+
+    /**
+     * Marks the specified activity done today by a user specified by the given user id.
+     *
+     * @param userId the given user id
+     * @param activity the specified activity
+     */
+    public void markDone(final String userId, final int activity) {
+        update(userId, activity, true, true);
+    }
+
+    /**
+     * Gets the statistic of this cache.
+     *
+     * @return statistic, for example,      <pre>
+     * {
+     *     "count": int,
+     *     "hitCount": long,
+     *     "missCount": long
+     * }
+     * </pre>
+     */
+    public JSONObject getStatistic() {
+        final JSONObject ret = new JSONObject();
+
+        today();
+
+        ret.put("count", states.size());
+        ret.put("hitCount", hitCount.get());
+        ret.put("missCount", missCount.get());
+
+        return ret;
+    }
+
+    /**
+     * Updates the state of an activity of a user specified by the given user id.
+     *
+     * @param userId the given user id
+     * @param activity the specified activity
+     * @param done the specified state, {@code true} for done
+     * @param override whether overrides the known state
+     */
+    private void update(final String userId, final int activity, final boolean done, final boolean override) {
+        final int day = today();
+
+        AtomicLong state = states.get(userId);
+        if (null == state) {
+            state = new AtomicLong();
+            final AtomicLong old = states.putIfAbsent(userId, state);
+            if (null != old) {
+                state = old;
+            }
+        }
+
+        while (true) {
+            final long value = state.get();
+
+            long newValue = day == (int) (value >>> 32) ? value : (long) day << 32;
+            if (!override && 0 != ((newValue >>> 8) & activity)) {
+                return;
+            }
+
+            newValue |= activity << 8;
+            newValue = done ? newValue | activity : newValue & ~activity;
+
+            if (state.compareAndSet(value, newValue)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the day stamp of today, drops all states at local midnight.
+     *
+     * @return day stamp (yyyyMMdd)
+     */
+    private int today() {
+        if (System.currentTimeMillis() < nextMidnight) {
+            return today;
+        }
+
+        synchronized (this) {
+            final long now = System.currentTimeMillis();
+            if (now < nextMidnight) {
+                return today;
+            }
+
+            final Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(now);
+            final int day = calendar.get(Calendar.YEAR) * 10000 + (calendar.get(Calendar.MONTH) + 1) * 100
+                    + calendar.get(Calendar.DAY_OF_MONTH);
+
+            calendar.set(Calendar.HOUR_OF_DAY, 0);
+            calendar.set(Calendar.MINUTE, 0);
+            calendar.set(Calendar.SECOND, 0);
+            calendar.set(Calendar.MILLISECOND, 0);
+            calendar.add(Calendar.DATE, 1);
+
+            if (day != today) {
+                states.clear();
+            }
+
+            today = day;
+            nextMidnight = calendar.getTimeInMillis();
+
+            return day;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.cache;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+/**
+ * Article cache.
+ *
+ * <p>
+ * Caches the rendered (viewer-independent) HTML of article content and reward content. An entry is identified by the
+ * article id and the article update time, so an updated article will never hit a stale entry. The cache is bounded by
+ * the total length of the cached HTML (configured by {@code articleContentCacheSize} in symphony.properties), the
+ * least recently used entries will be evicted first.
+ * </p>
+ *
+ * <p>
+ * Also caches the invited usernames of discussions, which are removed on article update.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+@Named
+@Singleton
+public class ArticleCache {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ArticleCache.class.getName());
+
+    /**
+     * Max total length of the cached content.
+     */
+    private static final long MAX_SIZE = Symphonys.getLong("articleContentCacheSize");
+
+    /**
+     * Rendered contents &lt;articleId, entry&gt;, in access order.
+     */
+    private final Map<String, Entry> contents = new LinkedHashMap<String, Entry>(256, 0.75F, true);
+
+    /**
+     * Total length of the cached content.
+     */
+    private long size;
+
+    /**
+     * Max count of the cached discussion invitees.
+     */
+    private static final int MAX_INVITEES_CNT = 1024;
+
+    /**
+     * Discussion invitees &lt;articleId, usernames&gt;, in access order.
+     */
+    private final Map<String, Set<String>> invitees = new LinkedHashMap<String, Set<String>>(16, 0.75F, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Set<String>> eldest) {
+            return size() > MAX_INVITEES_CNT;
+        }
+    };
+
+    /**
+     * Hit count.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * Miss count.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Eviction count.
+     */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Gets the rendered content of an article specified by the given article id and update time.
+     *
+     * @param articleId the given article id
+     * @param updateTime the given update time
+     * @return rendered content, for example,      <pre>
+     * {
+     *     "articleContent": "",
+     *     "articleRewardContent": ""
+     * }
+     * </pre>, returns {@code null} if not found or the cached one is stale
+     */
+    public JSONObject getContent(final String articleId, final long updateTime) {
+        Entry entry;
+        synchronized (contents) {
+            entry = contents.get(articleId);
+        }
+
+        if (null == entry || entry.updateTime != updateTime) {
+            missCount.incrementAndGet();
+
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+
+        final JSONObject ret = new JSONObject();
+        ret.put(Article.ARTICLE_CONTENT, entry.content);
+        ret.put(Article.ARTICLE_REWARD_CONTENT, entry.rewardContent);
+
+        return ret;
+    }
+
+    /**
+     * Puts the rendered content of an article specified by the given article id and update time.
+     *
+     * @param articleId the given article id
+     * @param updateTime the given update time
+     * @param content the specified rendered article content
+     * @param rewardContent the specified rendered reward content
+     */
+    public void putContent(final String articleId, final long updateTime, final String content, final String rewardContent) {
+        final Entry entry = new Entry(updateTime, content, rewardContent);
+        if (entry.size > MAX_SIZE) {
+            return;
+        }
+
+        synchronized (contents) {
+            final Entry old = contents.put(articleId, entry);
+            if (null != old) {
+                size -= old.size;
+            }
+            size += entry.size;
+
+            final Iterator<Entry> iterator = contents.values().iterator();
+            while (size > MAX_SIZE && iterator.hasNext()) {
+                final Entry eldest = iterator.next();
+                iterator.remove();
+                size -= eldest.size;
+
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes the cached content of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     */
+    public void removeContent(final String articleId) {
+        synchronized (contents) {
+            final Entry old = contents.remove(articleId);
+            if (null != old) {
+                size -= old.size;
+            }
+        }
+    }
+
+    /**
+     * Gets the invited usernames (including the author) of a discussion specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @return usernames (unmodifiable), returns {@code null} if not found
+     */
+    public Set<String> getInvitees(final String articleId) {
+        synchronized (invitees) {
+            return invitees.get(articleId);
+        }
+    }
+
+    /**
+     * Puts the invited usernames (including the author) of a discussion specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @param userNames the specified usernames
+     */
+    public void putInvitees(final String articleId, final Set<String> userNames) {
+        final Set<String> value = Collections.unmodifiableSet(new HashSet<String>(userNames));
+
+        synchronized (invitees) {
+            invitees.put(articleId, value);
+        }
+    }
+
+    /**
+     * Removes the cached invited usernames of a discussion specified by the given article id.
+     *
+     * @param articleId the given article id
+     */
+    public void removeInvitees(final String articleId) {
+        synchronized (invitees) {
+            invitees.remove(articleId);
+        }
+    }
+
+    /**
+     * Clears all cached content.
+     *
+     * <p>
+     * Invokes this method if something referenced by the rendered content (for example, a username or a tag title)
+     * changed.
+     * </p>
+     */
+    public void clear() {
+        synchronized (contents) {
+            contents.clear();
+            size = 0;
+        }
+
+        synchronized (invitees) {
+            invitees.clear();
+        }
+
+        LOGGER.log(Level.DEBUG, "Cleared article content cache");
+    }
+
+    /**
+     * Gets the statistic of this cache.
+     *
+     * @return statistic, for example,      <pre>
+     * {
+     *     "count": int,
+     *     "size": long,
+     *     "maxSize": long,
+     *     "hitCount": long,
+     *     "missCount": long,
+     *     "evictionCount": long
+     * }
+     * </pre>
+     */
+    public JSONObject getStatistic() {
+        final JSONObject ret = new JSONObject();
+
+        synchronized (contents) {
+            ret.put("count", contents.size());
+            ret.put("size", size);
+        }
+
+        ret.put("maxSize", MAX_SIZE);
+        ret.put("hitCount", hitCount.get());
+        ret.put("missCount", missCount.get());
+        ret.put("evictionCount", evictionCount.get());
+
+        return ret;
+    }
+
+    /**
+     * Cache entry.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 16, 2026
+     * @since 1.4.0
+     */
+    private static final class Entry {
+
+        /**
+         * Article update time.
+         */
+        private final long updateTime;
+
+        /**
+         * Rendered article content.
+         */
+        private final String content;
+
+        /**
+         * Rendered reward content.
+         */
+        private final String rewardContent;
+
+        /**
+         * Size (total length of the rendered content).
+         */
+        private final long size;
+
+        /**
+         * Constructs an entry with the specified update time, content and reward content.
+         *
+         * @param updateTime the specified update time
+         * @param content the specified content
+         * @param rewardContent the specified reward content
+         */
+        private Entry(final long updateTime, final String content, final String rewardContent) {
+            this.updateTime = updateTime;
+            this.content = content;
+            this.rewardContent = rewardContent;
+            size = content.length() + rewardContent.length();
+        }
+    }
+}
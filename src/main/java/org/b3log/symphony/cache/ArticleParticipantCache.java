@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+/**
+ * Article participant cache.
+ *
+ * <p>
+ * In-memory mirror of the {@link org.b3log.symphony.model.Article#ARTICLE_LATEST_PARTICIPANTS} ring of the recently
+ * listed or commented articles, bounded by {@code articleParticipantsCacheCnt} in symphony.properties.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+@Named
+@Singleton
+public class ArticleParticipantCache {
+
+    /**
+     * Max count of the cached articles.
+     */
+    private static final int MAX_CNT = Symphonys.getInt("articleParticipantsCacheCnt");
+
+    /**
+     * Participants &lt;articleId, participants&gt;, in access order.
+     */
+    private final Map<String, List<JSONObject>> participants
+            = new LinkedHashMap<String, List<JSONObject>>(256, 0.75F, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, List<JSONObject>> eldest) {
+                    return size() > MAX_CNT;
+                }
+            };
+
+    /**
+     * Hit count.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * Miss count.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Gets the latest participants of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @return participants (a copy, ordered by comment id descending), for example,      <pre>
+     * [
+     *     {
+     *         "oId": "", // comment id
+     *         "commentAuthorEmail": ""
+     *     }, ....
+     * ]
+     * </pre>, returns {@code null} if not found
+     */
+    public List<JSONObject> getParticipants(final String articleId) {
+        List<JSONObject> ret;
+        synchronized (participants) {
+            ret = participants.get(articleId);
+        }
+
+        if (null == ret) {
+            missCount.incrementAndGet();
+
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+
+        return new ArrayList<JSONObject>(ret);
+    }
+
+    /**
+     * Puts the latest participants of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @param articleParticipants the specified participants, ordered by comment id descending
+     */
+    public void putParticipants(final String articleId, final List<JSONObject> articleParticipants) {
+        final List<JSONObject> value = new ArrayList<JSONObject>(articleParticipants);
+
+        synchronized (participants) {
+            participants.put(articleId, value);
+        }
+    }
+
+    /**
+     * Puts the latest participants of an article specified by the given article id if the article has no participants
+     * cached.
+     *
+     * @param articleId the given article id
+     * @param articleParticipants the specified participants, ordered by comment id descending
+     */
+    public void putParticipantsIfAbsent(final String articleId, final List<JSONObject> articleParticipants) {
+        final List<JSONObject> value = new ArrayList<JSONObject>(articleParticipants);
+
+        synchronized (participants) {
+            if (!participants.containsKey(articleId)) {
+                participants.put(articleId, value);
+            }
+        }
+    }
+
+    /**
+     * Gets the statistic of this cache.
+     *
+     * @return statistic, for example,      <pre>
+     * {
+     *     "count": int,
+     *     "maxCount": int,
+     *     "hitCount": long,
+     *     "missCount": long
+     * }
+     * </pre>
+     */
+    public JSONObject getStatistic() {
+        final JSONObject ret = new JSONObject();
+
+        synchronized (participants) {
+            ret.put("count", participants.size());
+        }
+
+        ret.put("maxCount", MAX_CNT);
+        ret.put("hitCount", hitCount.get());
+        ret.put("missCount", missCount.get());
+
+        return ret;
+    }
+}
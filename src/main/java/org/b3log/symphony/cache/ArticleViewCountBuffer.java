@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.json.JSONObject;
+
+/**
+ * Article view count buffer.
+ *
+ * <p>
+ * Coalesces view count increments per article in memory, the buffered deltas are drained and written to the
+ * repository in batch by {@link org.b3log.symphony.service.ArticleMgmtService#flushArticleViewCounts()}.
+ * </p>
+ *
+ * <p>
+ * Increments are lock-free: every article has its own counter in a concurrent map, a drained idle counter is retired
+ * (marked with {@link #RETIRED}) before removal, so an increment never lands in a counter which has been removed.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.2, Oct 17, 2026
+ * @since 1.4.0
+ */
+@Named
+@Singleton
+public class ArticleViewCountBuffer {
+
+    /**
+     * Retired counter mark.
+     */
+    private static final long RETIRED = Long.MIN_VALUE;
+
+    /**
+     * Counters &lt;articleId, delta&gt;.
+     */
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>(1024);
+
+    /**
+     * Time of the earliest increment not flushed yet, {@code 0} if nothing pending.
+     */
+    private final AtomicLong pendingSince = new AtomicLong();
+
+    /**
+     * Time of the earliest increment of the last drained deltas, restored by {@link #failed(java.util.Map)}.
+     */
+    private volatile long drainedSince;
+
+    /**
+     * Flushed view count.
+     */
+    private final AtomicLong flushedCount = new AtomicLong();
+
+    /**
+     * Dropped view count.
+     */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * Flush failure count.
+     */
+    private final AtomicLong failureCount = new AtomicLong();
+
+    /**
+     * Last flush time.
+     */
+    private volatile long lastFlushTime;
+
+    /**
+     * Last flush duration (ms).
+     */
+    private volatile long lastFlushDuration;
+
+    /**
+     * Increments the view count of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     */
+    public void inc(final String articleId) {
+        add(articleId, 1);
+    }
+
+    /**
+     * Adds the specified delta to the view count of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @param delta the specified delta
+     */
+    public void add(final String articleId, final long delta) {
+        pendingSince.compareAndSet(0, System.currentTimeMillis());
+
+        while (true) {
+            AtomicLong counter = counters.get(articleId);
+            if (null == counter) {
+                counter = new AtomicLong();
+                final AtomicLong old = counters.putIfAbsent(articleId, counter);
+                if (null != old) {
+                    counter = old;
+                }
+            }
+
+            final long value = counter.get();
+            if (RETIRED == value) {
+                counters.remove(articleId, counter);
+
+                continue;
+            }
+
+            if (counter.compareAndSet(value, value + delta)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drains the buffered deltas.
+     *
+     * @return deltas &lt;articleId, delta&gt;, returns an empty map if nothing buffered
+     */
+    public Map<String, Long> drain() {
+        drainedSince = pendingSince.getAndSet(0);
+
+        final Map<String, Long> ret = new HashMap<String, Long>();
+
+        for (final Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            final AtomicLong counter = entry.getValue();
+
+            final long delta = counter.getAndSet(0);
+            if (delta > 0) {
+                ret.put(entry.getKey(), delta);
+            } else if (counter.compareAndSet(0, RETIRED)) {
+                counters.remove(entry.getKey(), counter);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Records a flush.
+     *
+     * @param startTime the specified flush start time
+     * @param flushed the specified flushed view count
+     * @param dropped the specified dropped view count (for example, the article has been removed)
+     */
+    public void flushed(final long startTime, final long flushed, final long dropped) {
+        flushedCount.addAndGet(flushed);
+        droppedCount.addAndGet(dropped);
+
+        lastFlushTime = System.currentTimeMillis();
+        lastFlushDuration = lastFlushTime - startTime;
+    }
+
+    /**
+     * Records a failed flush, the specified deltas will be put back and retried in the next flush.
+     *
+     * <p>
+     * The flush lag keeps counting from the earliest increment of the specified deltas, so it grows as long as the
+     * flushes keep failing.
+     * </p>
+     *
+     * @param deltas the specified deltas
+     */
+    public void failed(final Map<String, Long> deltas) {
+        failureCount.incrementAndGet();
+
+        for (final Map.Entry<String, Long> entry : deltas.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+
+        final long since = drainedSince;
+        if (0 == since) {
+            return;
+        }
+
+        while (true) {
+            final long current = pendingSince.get();
+            if (0 != current && current <= since) {
+                return;
+            }
+
+            if (pendingSince.compareAndSet(current, since)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records dropped deltas (failed to flush at shutdown, see
+     * {@link org.b3log.symphony.service.ArticleMgmtService#flushArticleViewCounts(boolean)}).
+     *
+     * @param deltas the specified deltas
+     */
+    public void dropped(final Map<String, Long> deltas) {
+        failureCount.incrementAndGet();
+
+        for (final Long delta : deltas.values()) {
+            droppedCount.addAndGet(delta);
+        }
+    }
+
+    /**
+     * Gets the statistic of this buffer.
+     *
+     * @return statistic, for example,      <pre>
+     * {
+     *     "pendingArticleCount": int,
+     *     "pendingCount": long,
+     *     "flushLag": long, // ms since the earliest increment not flushed yet
+     *     "flushedCount": long,
+     *     "droppedCount": long,
+     *     "failureCount": long,
+     *     "lastFlushTime": long,
+     *     "lastFlushDuration": long
+     * }
+     * </pre>
+     */
+    public JSONObject getStatistic() {
+        final JSONObject ret = new JSONObject();
+
+        int pendingArticleCnt = 0;
+        long pendingCnt = 0;
+        for (final AtomicLong counter : counters.values()) {
+            final long value = counter.get();
+            if (value > 0) {
+                pendingArticleCnt++;
+                pendingCnt += value;
+            }
+        }
+
+        final long since = pendingSince.get();
+
+        ret.put("pendingArticleCount", pendingArticleCnt);
+        ret.put("pendingCount", pendingCnt);
+        ret.put("flushLag", 0 == since || 0 == pendingCnt ? 0 : System.currentTimeMillis() - since);
+        ret.put("flushedCount", flushedCount.get());
+        ret.put("droppedCount", droppedCount.get());
+        ret.put("failureCount", failureCount.get());
+        ret.put("lastFlushTime", lastFlushTime);
+        ret.put("lastFlushDuration", lastFlushDuration);
+
+        return ret;
+    }
+}
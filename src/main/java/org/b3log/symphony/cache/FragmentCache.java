@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.cache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+/**
+ * Fragment cache.
+ *
+ * <p>
+ * Caches the viewer-independent blocks filled by {@link org.b3log.symphony.util.Filler} (trend tags, side tags, hot
+ * articles, statistic, etc). Each fragment expires after its own TTL ({@code fragmentTTL.xxx} in symphony.properties,
+ * in seconds) and is removed on the events changing it, see {@link org.b3log.symphony.event.FragmentCacheCleaner}.
+ * </p>
+ *
+ * <p>
+ * The cached values are shared by all requests, callers MUST NOT modify them.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+@Named
+@Singleton
+public class FragmentCache {
+
+    /**
+     * Fragment - trend tags.
+     */
+    public static final String TREND_TAGS = "trendTags";
+
+    /**
+     * Fragment - new tags.
+     */
+    public static final String NEW_TAGS = "newTags";
+
+    /**
+     * Fragment - side tags.
+     */
+    public static final String SIDE_TAGS = "sideTags";
+
+    /**
+     * Fragment - hot articles.
+     */
+    public static final String HOT_ARTICLES = "hotArticles";
+
+    /**
+     * Fragment - random articles.
+     */
+    public static final String RANDOM_ARTICLES = "randomArticles";
+
+    /**
+     * Fragment - statistic.
+     */
+    public static final String STATISTIC = "statistic";
+
+    /**
+     * Fragments &lt;name, fragment&gt;.
+     */
+    private final Map<String, Fragment> fragments;
+
+    /**
+     * Constructs a fragment cache.
+     */
+    public FragmentCache() {
+        final Map<String, Fragment> map = new HashMap<String, Fragment>();
+
+        for (final String name : new String[]{
+            TREND_TAGS, NEW_TAGS, SIDE_TAGS, HOT_ARTICLES, RANDOM_ARTICLES, STATISTIC}) {
+            map.put(name, new Fragment(Symphonys.getLong("fragmentTTL." + name) * 1000));
+        }
+
+        fragments = Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Gets the value of a fragment specified by the given name.
+     *
+     * @param name the given name
+     * @return value, returns {@code null} if not cached or expired
+     */
+    public Object get(final String name) {
+        final Fragment fragment = fragments.get(name);
+        final Value value = fragment.value;
+
+        if (null == value || value.expireTime < System.currentTimeMillis()) {
+            fragment.missCount.incrementAndGet();
+
+            return null;
+        }
+
+        fragment.hitCount.incrementAndGet();
+
+        return value.object;
+    }
+
+    /**
+     * Puts the value of a fragment specified by the given name.
+     *
+     * @param name the given name
+     * @param object the specified value
+     */
+    public void put(final String name, final Object object) {
+        final Fragment fragment = fragments.get(name);
+
+        fragment.value = new Value(object, System.currentTimeMillis() + fragment.ttl);
+    }
+
+    /**
+     * Removes the fragments specified by the given names.
+     *
+     * @param names the given names
+     */
+    public void remove(final String... names) {
+        for (final String name : names) {
+            fragments.get(name).value = null;
+        }
+    }
+
+    /**
+     * Removes all fragments.
+     */
+    public void clear() {
+        for (final Fragment fragment : fragments.values()) {
+            fragment.value = null;
+        }
+    }
+
+    /**
+     * Gets the statistic of this cache.
+     *
+     * @return statistic, for example,      <pre>
+     * {
+     *     "trendTags": {
+     *         "ttl": long, // seconds
+     *         "hitCount": long,
+     *         "missCount": long,
+     *         "hitRate": double
+     *     },
+     *     ....
+     * }
+     * </pre>
+     */
+    public JSONObject getStatistic() {
+        final JSONObject ret = new JSONObject();
+
+        for (final Map.Entry<String, Fragment> entry : fragments.entrySet()) {
+            final Fragment fragment = entry.getValue();
+            final long hitCount = fragment.hitCount.get();
+            final long missCount = fragment.missCount.get();
+
+            final JSONObject stat = new JSONObject();
+            stat.put("ttl", fragment.ttl / 1000);
+            stat.put("hitCount", hitCount);
+            stat.put("missCount", missCount);
+            stat.put("hitRate", 0 == hitCount + missCount ? 0D : (double) hitCount / (hitCount + missCount));
+
+            ret.put(entry.getKey(), stat);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Fragment.
+     */
+    private static final class Fragment {
+
+        /**
+         * TTL (ms).
+         */
+        private final long ttl;
+
+        /**
+         * Cached value.
+         */
+        private volatile Value value;
+
+        /**
+         * Hit count.
+         */
+        private final AtomicLong hitCount = new AtomicLong();
+
+        /**
+         * Miss count.
+         */
+        private final AtomicLong missCount = new AtomicLong();
+
+        /**
+         * Constructs a fragment with the specified TTL.
+         *
+         * @param ttl the specified TTL (ms)
+         */
+        private Fragment(final long ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Cached value with its expire time.
+     */
+    private static final class Value {
+
+        /**
+         * Value.
+         */
+        private final Object object;
+
+        /**
+         * Expire time.
+         */
+        private final long expireTime;
+
+        /**
+         * Constructs a cached value with the specified value and expire time.
+         *
+         * @param object the specified value
+         * @param expireTime the specified expire time
+         */
+        private Value(final Object object, final long expireTime) {
+            this.object = object;
+            this.expireTime = expireTime;
+        }
+    }
+}
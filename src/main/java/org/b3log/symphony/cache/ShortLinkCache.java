@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+/**
+ * Short link cache.
+ *
+ * <p>
+ * Caches the titles resolved by {@link org.b3log.symphony.service.ShortLinkQueryService}: article id to article title
+ * and tag title (as written in content) to tag title (as stored). An empty title means the article or the tag does not
+ * exist. Each map is bounded by {@code shortLinkCacheCnt} in symphony.properties, the least recently used entries will
+ * be evicted first.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+@Named
+@Singleton
+public class ShortLinkCache {
+
+    /**
+     * Max count of the cached titles per kind.
+     */
+    private static final int MAX_CNT = Symphonys.getInt("shortLinkCacheCnt");
+
+    /**
+     * Article titles &lt;articleId, articleTitle&gt;, in access order.
+     */
+    private final Map<String, String> articleTitles = new LinkedHashMap<String, String>(256, 0.75F, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+            return size() > MAX_CNT;
+        }
+    };
+
+    /**
+     * Tag titles &lt;tagTitle in content, tagTitle&gt;, in access order.
+     */
+    private final Map<String, String> tagTitles = new LinkedHashMap<String, String>(256, 0.75F, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+            return size() > MAX_CNT;
+        }
+    };
+
+    /**
+     * Hit count.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * Miss count.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Gets the title of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @return article title, returns {@code ""} if the article does not exist, returns {@code null} if not cached
+     */
+    public String getArticleTitle(final String articleId) {
+        String ret;
+        synchronized (articleTitles) {
+            ret = articleTitles.get(articleId);
+        }
+
+        count(ret);
+
+        return ret;
+    }
+
+    /**
+     * Puts the title of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @param articleTitle the specified article title, {@code ""} if the article does not exist
+     */
+    public void putArticleTitle(final String articleId, final String articleTitle) {
+        synchronized (articleTitles) {
+            articleTitles.put(articleId, articleTitle);
+        }
+    }
+
+    /**
+     * Removes the cached title of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     */
+    public void removeArticleTitle(final String articleId) {
+        synchronized (articleTitles) {
+            articleTitles.remove(articleId);
+        }
+    }
+
+    /**
+     * Gets the stored title of a tag specified by the given title in content.
+     *
+     * @param title the given title in content
+     * @return stored tag title, returns {@code ""} if the tag does not exist, returns {@code null} if not cached
+     */
+    public String getTagTitle(final String title) {
+        String ret;
+        synchronized (tagTitles) {
+            ret = tagTitles.get(title);
+        }
+
+        count(ret);
+
+        return ret;
+    }
+
+    /**
+     * Puts the stored title of a tag specified by the given title in content.
+     *
+     * @param title the given title in content
+     * @param tagTitle the specified stored tag title, {@code ""} if the tag does not exist
+     */
+    public void putTagTitle(final String title, final String tagTitle) {
+        synchronized (tagTitles) {
+            tagTitles.put(title, tagTitle);
+        }
+    }
+
+    /**
+     * Removes the cached nonexistence of the tags specified by the given tag titles, ignoring case.
+     *
+     * <p>
+     * Invokes this method after tags added.
+     * </p>
+     *
+     * @param titles the given tag titles, separated by comma
+     */
+    public void removeMissingTagTitles(final String titles) {
+        final String[] tags = StringUtils.split(titles, ',');
+        if (null == tags) {
+            return;
+        }
+
+        synchronized (tagTitles) {
+            final Iterator<Map.Entry<String, String>> iterator = tagTitles.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<String, String> entry = iterator.next();
+                if (!entry.getValue().isEmpty()) {
+                    continue;
+                }
+
+                for (final String tag : tags) {
+                    if (entry.getKey().equalsIgnoreCase(tag.trim())) {
+                        iterator.remove();
+
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Clears all cached tag titles.
+     *
+     * <p>
+     * Invokes this method after a tag updated.
+     * </p>
+     */
+    public void clearTagTitles() {
+        synchronized (tagTitles) {
+            tagTitles.clear();
+        }
+    }
+
+    /**
+     * Gets the statistic of this cache.
+     *
+     * @return statistic, for example,      <pre>
+     * {
+     *     "articleCount": int,
+     *     "tagCount": int,
+     *     "maxCount": int,
+     *     "hitCount": long,
+     *     "missCount": long
+     * }
+     * </pre>
+     */
+    public JSONObject getStatistic() {
+        final JSONObject ret = new JSONObject();
+
+        synchronized (articleTitles) {
+            ret.put("articleCount", articleTitles.size());
+        }
+
+        synchronized (tagTitles) {
+            ret.put("tagCount", tagTitles.size());
+        }
+
+        ret.put("maxCount", MAX_CNT);
+        ret.put("hitCount", hitCount.get());
+        ret.put("missCount", missCount.get());
+
+        return ret;
+    }
+
+    /**
+     * Counts a hit or a miss by the specified cached value.
+     *
+     * @param value the specified cached value, {@code null} for a miss
+     */
+    private void count(final String value) {
+        if (null == value) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,553 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.b3log.latke.model.User;
+import org.b3log.symphony.model.UserExt;
+import org.json.JSONObject;
+
+/**
+ * Username cache.
+ *
+ * <p>
+ * In-memory dictionary of all usernames, used to resolve @username mentions without database queries, and the
+ * autocomplete index of usernames. Usernames consist of ASCII letters and digits only (see
+ * {@link org.b3log.symphony.processor.advice.validate.UserRegisterValidation#invalidUserName(java.lang.String)}) and
+ * are unique ignoring case, so a name is looked up ignoring case.
+ * </p>
+ *
+ * <p>
+ * The autocomplete index is an array of entries sorted by the lower case username. It is copied on write and
+ * replaced as a whole, so readers search a consistent snapshot without locking. The avatar and the recent activity
+ * time of an entry are updated in place.
+ * </p>
+ *
+ * <p>
+ * The cache is loaded page by page (see {@link #startLoad()}) in background at startup, and kept current by the user
+ * management service. Updates made during a load are replayed on the loaded entries. Check {@link #isLoaded()} before
+ * relying on the cache.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.2.1.0, Oct 17, 2026
+ * @since 1.4.0
+ */
+@Named
+@Singleton
+public class UserNameCache {
+
+    /**
+     * Size (in bytes) of a reference, assumes a 64-bit JVM with compressed oops.
+     */
+    private static final int REFERENCE_SIZE = 4;
+
+    /**
+     * Size (in bytes) of an object header.
+     */
+    private static final int HEADER_SIZE = 12;
+
+    /**
+     * Estimated size (in bytes) of a map entry, including the table slot of a map with the default load factor.
+     */
+    private static final int MAP_ENTRY_SIZE = 40;
+
+    /**
+     * Empty index.
+     */
+    private static final Entry[] EMPTY_INDEX = new Entry[0];
+
+    /**
+     * Usernames &lt;lower case username, entry&gt;.
+     */
+    private volatile Map<String, Entry> names = new ConcurrentHashMap<String, Entry>();
+
+    /**
+     * Autocomplete index, sorted by the lower case username.
+     */
+    private volatile Entry[] index = EMPTY_INDEX;
+
+    /**
+     * Whether the cache has been loaded.
+     */
+    private volatile boolean loaded;
+
+    /**
+     * Entries loaded by the current load &lt;lower case username, entry&gt;, {@code null} if not loading.
+     */
+    private Map<String, Entry> loadings;
+
+    /**
+     * Estimated heap size (in bytes) of the entries when the latest load ended.
+     */
+    private volatile long estimatedHeapSize;
+
+    /**
+     * Updates made during the current load, {@code null} if not loading. A pending update is a lower case username
+     * and the entry put, the entry is {@code null} if the username has been removed.
+     */
+    private List<Object[]> pendings;
+
+    /**
+     * Hit count.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * Miss count.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Determines whether the cache has been loaded.
+     *
+     * @return {@code true} if it has been loaded, returns {@code false} otherwise
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Determines whether the specified username exists, ignoring case.
+     *
+     * @param userName the specified username
+     * @return {@code true} if it exists, returns {@code false} otherwise
+     */
+    public boolean contains(final String userName) {
+        final boolean ret = names.containsKey(userName.toLowerCase());
+        if (ret) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets usernames by the specified name prefix, ignoring case.
+     *
+     * @param namePrefix the specified name prefix
+     * @param fetchSize the specified fetch size
+     * @return usernames, the most recently active users first, for example,      <pre>
+     * [
+     *     {
+     *         "userName": "",
+     *         "userAvatarURL": ""
+     *     }, ....
+     * ]
+     * </pre>, returns an empty list if not found
+     */
+    public List<JSONObject> getByPrefix(final String namePrefix, final int fetchSize) {
+        final List<JSONObject> ret = new ArrayList<JSONObject>();
+        if (fetchSize < 1) {
+            return ret;
+        }
+
+        final String prefix = namePrefix.toLowerCase();
+        final Entry[] entries = index;
+
+        final Entry[] top = new Entry[fetchSize];
+        int topCnt = 0;
+        for (int i = lowerBound(entries, prefix); i < entries.length && entries[i].key.startsWith(prefix); i++) {
+            final Entry entry = entries[i];
+            final long activity = entry.activity;
+
+            if (topCnt == fetchSize && top[topCnt - 1].activity >= activity) {
+                continue;
+            }
+
+            // Inserts into the top entries ordered by activity descending
+            int j = topCnt == fetchSize ? topCnt - 1 : topCnt++;
+            while (j > 0 && top[j - 1].activity < activity) {
+                top[j] = top[j - 1];
+                j--;
+            }
+            top[j] = entry;
+        }
+
+        for (int i = 0; i < topCnt; i++) {
+            final JSONObject userName = new JSONObject();
+            userName.put(User.USER_NAME, top[i].name);
+            userName.put(UserExt.USER_AVATAR_URL, top[i].avatarURL);
+
+            ret.add(userName);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Puts the specified user.
+     *
+     * @param user the specified user, for example,      <pre>
+     * {
+     *     "userName": "", // {@value UserExt#NULL_USER_NAME} will be ignored
+     *     "userAvatarURL": "",
+     *     "userLatestLoginTime": long,
+     *     "userLatestArticleTime": long,
+     *     "userLatestCmtTime": long
+     * }
+     * </pre>
+     */
+    public synchronized void put(final JSONObject user) {
+        final Entry entry = new Entry(user);
+        if (UserExt.NULL_USER_NAME.equals(entry.name)) {
+            return;
+        }
+
+        final Entry old = names.get(entry.key);
+        if (null != old && old.name.equals(entry.name)) {
+            old.avatarURL = entry.avatarURL;
+            old.activity = Math.max(old.activity, entry.activity);
+        } else {
+            names.put(entry.key, entry);
+            index = put(index, entry);
+        }
+
+        if (null != pendings) {
+            pendings.add(new Object[]{entry.key, names.get(entry.key)});
+        }
+    }
+
+    /**
+     * Updates the recent activity time of the specified username.
+     *
+     * @param userName the specified username
+     * @param time the specified activity time
+     */
+    public void touch(final String userName, final long time) {
+        final Entry entry = names.get(userName.toLowerCase());
+        if (null != entry && entry.activity < time) {
+            entry.activity = time;
+        }
+    }
+
+    /**
+     * Removes the specified username.
+     *
+     * <p>
+     * The caller should make sure that no user holds the username any more.
+     * </p>
+     *
+     * @param userName the specified username
+     */
+    public synchronized void remove(final String userName) {
+        final String key = userName.toLowerCase();
+
+        if (null != names.remove(key)) {
+            index = remove(index, key);
+        }
+
+        if (null != pendings) {
+            pendings.add(new Object[]{key, null});
+        }
+    }
+
+    /**
+     * Starts a load, the updates made from now on will be replayed by {@link #endLoad()}.
+     *
+     * <p>
+     * Invokes this method before querying users from database, then loads the users page by page with
+     * {@link #loadPage(java.util.Collection)} and ends with {@link #endLoad()} (or {@link #cancelLoad()} on error).
+     * </p>
+     *
+     * @return {@code true} if started, returns {@code false} if another load is in progress
+     */
+    public synchronized boolean startLoad() {
+        if (null != loadings) {
+            return false;
+        }
+
+        loadings = new HashMap<String, Entry>();
+        pendings = new ArrayList<Object[]>();
+
+        return true;
+    }
+
+    /**
+     * Loads a page of the specified users.
+     *
+     * @param users the specified users (see {@link #put(org.json.JSONObject)} for the fields), queried after
+     * {@link #startLoad()}
+     */
+    public void loadPage(final Collection<JSONObject> users) {
+        final Map<String, Entry> page = new HashMap<String, Entry>(users.size() * 4 / 3 + 1);
+        for (final JSONObject user : users) {
+            final Entry entry = new Entry(user);
+
+            if (!UserExt.NULL_USER_NAME.equals(entry.name)) {
+                page.put(entry.key, entry);
+            }
+        }
+
+        synchronized (this) {
+            if (null != loadings) {
+                loadings.putAll(page);
+            }
+        }
+    }
+
+    /**
+     * Ends the current load, replaces the current entries with the loaded ones.
+     */
+    public synchronized void endLoad() {
+        if (null == loadings) {
+            return;
+        }
+
+        for (final Object[] pending : pendings) {
+            final String key = (String) pending[0];
+            final Entry entry = (Entry) pending[1];
+
+            if (null == entry) {
+                loadings.remove(key);
+            } else {
+                loadings.put(key, entry);
+            }
+        }
+
+        final Entry[] loadedIndex = loadings.values().toArray(new Entry[loadings.size()]);
+        Arrays.sort(loadedIndex);
+
+        names = new ConcurrentHashMap<String, Entry>(loadings);
+        index = loadedIndex;
+        loadings = null;
+        pendings = null;
+
+        long size = (long) loadedIndex.length * (REFERENCE_SIZE + MAP_ENTRY_SIZE);
+        for (final Entry entry : loadedIndex) {
+            size += entry.sizeOf();
+        }
+        estimatedHeapSize = size;
+
+        loaded = true;
+    }
+
+    /**
+     * Cancels the current load, keeps the current entries.
+     */
+    public synchronized void cancelLoad() {
+        loadings = null;
+        pendings = null;
+    }
+
+    /**
+     * Gets the statistic of this cache.
+     *
+     * <p>
+     * The heap size is not measured, it is estimated on the entries when the latest load ended, assuming a 64-bit JVM
+     * with compressed oops and {@code char[]} backed strings.
+     * </p>
+     *
+     * @return statistic, for example,      <pre>
+     * {
+     *     "count": int,
+     *     "loaded": boolean,
+     *     "loading": boolean,
+     *     "estimatedHeapSize": long, // bytes
+     *     "estimatedHeapSizePerUser": long, // bytes
+     *     "hitCount": long,
+     *     "missCount": long
+     * }
+     * </pre>
+     */
+    public JSONObject getStatistic() {
+        final JSONObject ret = new JSONObject();
+
+        final int count = names.size();
+        ret.put("count", count);
+        ret.put("loaded", loaded);
+        synchronized (this) {
+            ret.put("loading", null != loadings);
+        }
+
+        final long size = estimatedHeapSize;
+        final int loadedCount = index.length;
+        ret.put("estimatedHeapSize", size);
+        ret.put("estimatedHeapSizePerUser", 0 == loadedCount ? 0 : size / loadedCount);
+        ret.put("hitCount", hitCount.get());
+        ret.put("missCount", missCount.get());
+
+        return ret;
+    }
+
+    /**
+     * Gets the index of the first entry whose key is not less than the specified key.
+     *
+     * @param entries the specified entries, sorted by key
+     * @param key the specified key
+     * @return index, {@code entries.length} if all keys are less than the specified key
+     */
+    private static int lowerBound(final Entry[] entries, final String key) {
+        int low = 0;
+        int high = entries.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (entries[mid].key.compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Puts the specified entry into a copy of the specified index.
+     *
+     * @param entries the specified index
+     * @param entry the specified entry
+     * @return the copy
+     */
+    private static Entry[] put(final Entry[] entries, final Entry entry) {
+        final int pos = lowerBound(entries, entry.key);
+
+        if (pos < entries.length && entries[pos].key.equals(entry.key)) {
+            final Entry[] ret = Arrays.copyOf(entries, entries.length);
+            ret[pos] = entry;
+
+            return ret;
+        }
+
+        final Entry[] ret = new Entry[entries.length + 1];
+        System.arraycopy(entries, 0, ret, 0, pos);
+        ret[pos] = entry;
+        System.arraycopy(entries, pos, ret, pos + 1, entries.length - pos);
+
+        return ret;
+    }
+
+    /**
+     * Removes the entry specified by the given key from a copy of the specified index.
+     *
+     * @param entries the specified index
+     * @param key the given key
+     * @return the copy, or the specified index if not found
+     */
+    private static Entry[] remove(final Entry[] entries, final String key) {
+        final int pos = lowerBound(entries, key);
+        if (pos == entries.length || !entries[pos].key.equals(key)) {
+            return entries;
+        }
+
+        final Entry[] ret = new Entry[entries.length - 1];
+        System.arraycopy(entries, 0, ret, 0, pos);
+        System.arraycopy(entries, pos + 1, ret, pos, entries.length - pos - 1);
+
+        return ret;
+    }
+
+    /**
+     * Cache entry.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 16, 2026
+     * @since 1.4.0
+     */
+    private static final class Entry implements Comparable<Entry> {
+
+        /**
+         * Lower case username.
+         */
+        private final String key;
+
+        /**
+         * Username.
+         */
+        private final String name;
+
+        /**
+         * Avatar URL.
+         */
+        private volatile String avatarURL;
+
+        /**
+         * Recent activity time.
+         */
+        private volatile long activity;
+
+        /**
+         * Constructs an entry with the specified user.
+         *
+         * @param user the specified user
+         */
+        private Entry(final JSONObject user) {
+            name = user.optString(User.USER_NAME);
+            key = name.toLowerCase();
+            avatarURL = user.optString(UserExt.USER_AVATAR_URL);
+            activity = Math.max(user.optLong(UserExt.USER_LATEST_LOGIN_TIME),
+                    Math.max(user.optLong(UserExt.USER_LATEST_ARTICLE_TIME), user.optLong(UserExt.USER_LATEST_CMT_TIME)));
+        }
+
+        /**
+         * Estimates the heap size of this entry, including the strings it references.
+         *
+         * @return size in bytes
+         */
+        private long sizeOf() {
+            long ret = align(HEADER_SIZE + 3 * REFERENCE_SIZE + 8);
+            ret += sizeOf(name);
+            if (key != name) {
+                ret += sizeOf(key);
+            }
+            ret += sizeOf(avatarURL);
+
+            return ret;
+        }
+
+        /**
+         * Estimates the heap size of the specified string, including its character array.
+         *
+         * @param string the specified string
+         * @return size in bytes
+         */
+        private static long sizeOf(final String string) {
+            if (null == string) {
+                return 0;
+            }
+
+            return align(HEADER_SIZE + REFERENCE_SIZE + 4) + align(HEADER_SIZE + 4 + 2L * string.length());
+        }
+
+        /**
+         * Aligns the specified size to 8 bytes.
+         *
+         * @param size the specified size
+         * @return aligned size
+         */
+        private static long align(final long size) {
+            return (size + 7) & ~7L;
+        }
+
+        @Override
+        public int compareTo(final Entry entry) {
+            return key.compareTo(entry.key);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.b3log.symphony.model.Follow;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+/**
+ * User navigation cache.
+ *
+ * <p>
+ * Caches the counters shown in the personal navigation of logged-in users (following counts and unread notification
+ * count), see {@link Counters}. The counters are loaded on the first page view of a user and then updated
+ * incrementally by {@link org.b3log.symphony.service.FollowMgmtService} and
+ * {@link org.b3log.symphony.service.NotificationMgmtService}. The daily checkin state is held by
+ * {@link ActivityCache}. The cache is bounded by {@code userNavCacheCnt} and the counters are reloaded after
+ * {@code userNavCacheTTL} seconds (symphony.properties), which also corrects the counters drifted by rolled back
+ * transactions.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+@Named
+@Singleton
+public class UserNavCache {
+
+    /**
+     * Max count of the cached users.
+     */
+    private static final int MAX_CNT = Symphonys.getInt("userNavCacheCnt");
+
+    /**
+     * TTL (ms) of the counters.
+     */
+    private static final long TTL = Symphonys.getLong("userNavCacheTTL") * 1000;
+
+    /**
+     * Counters &lt;userId, counters&gt;, in access order.
+     */
+    private final Map<String, Counters> counters = new LinkedHashMap<String, Counters>(256, 0.75F, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Counters> eldest) {
+            return size() > MAX_CNT;
+        }
+    };
+
+    /**
+     * Hit count.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+
+    /**
+     * Miss count.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Gets the counters of a user specified by the given user id.
+     *
+     * @param userId the given user id
+     * @return counters, returns {@code null} if not cached or expired
+     */
+    public Counters get(final String userId) {
+        Counters ret;
+        synchronized (counters) {
+            ret = counters.get(userId);
+        }
+
+        if (null == ret || ret.loadTime + TTL < System.currentTimeMillis()) {
+            missCount.incrementAndGet();
+
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+
+        return ret;
+    }
+
+    /**
+     * Puts the specified counters of a user specified by the given user id.
+     *
+     * @param userId the given user id
+     * @param userCounters the specified counters
+     */
+    public void put(final String userId, final Counters userCounters) {
+        synchronized (counters) {
+            counters.put(userId, userCounters);
+        }
+    }
+
+    /**
+     * Adds the specified delta to the following count of a user specified by the given user id, does nothing if the
+     * counters of the user are not cached.
+     *
+     * @param userId the given user id
+     * @param followingType the specified following type
+     * @param delta the specified delta
+     */
+    public void addFollowingCnt(final String userId, final int followingType, final int delta) {
+        final Counters userCounters = peek(userId);
+        if (null == userCounters) {
+            return;
+        }
+
+        switch (followingType) {
+            case Follow.FOLLOWING_TYPE_C_ARTICLE:
+                add(userCounters.followingArticleCnt, delta);
+                break;
+            case Follow.FOLLOWING_TYPE_C_TAG:
+                add(userCounters.followingTagCnt, delta);
+                break;
+            case Follow.FOLLOWING_TYPE_C_USER:
+                add(userCounters.followingUserCnt, delta);
+                break;
+            default:
+        }
+    }
+
+    /**
+     * Adds the specified delta to the unread notification count of a user specified by the given user id, does
+     * nothing if the counters of the user are not cached.
+     *
+     * @param userId the given user id
+     * @param delta the specified delta
+     */
+    public void addUnreadNotificationCnt(final String userId, final int delta) {
+        final Counters userCounters = peek(userId);
+        if (null == userCounters) {
+            return;
+        }
+
+        add(userCounters.unreadNotificationCnt, delta);
+    }
+
+    /**
+     * Removes the counters of a user specified by the given user id.
+     *
+     * @param userId the given user id
+     */
+    public void remove(final String userId) {
+        synchronized (counters) {
+            counters.remove(userId);
+        }
+    }
+
+    /**
+     * Gets the statistic of this cache.
+     *
+     * @return statistic, for example,      <pre>
+     * {
+     *     "count": int,
+     *     "maxCount": int,
+     *     "hitCount": long,
+     *     "missCount": long
+     * }
+     * </pre>
+     */
+    public JSONObject getStatistic() {
+        final JSONObject ret = new JSONObject();
+
+        synchronized (counters) {
+            ret.put("count", counters.size());
+        }
+
+        ret.put("maxCount", MAX_CNT);
+        ret.put("hitCount", hitCount.get());
+        ret.put("missCount", missCount.get());
+
+        return ret;
+    }
+
+    /**
+     * Gets the counters of a user specified by the given user id without counting a hit or a miss.
+     *
+     * @param userId the given user id
+     * @return counters, returns {@code null} if not cached
+     */
+    private Counters peek(final String userId) {
+        synchronized (counters) {
+            return counters.get(userId);
+        }
+    }
+
+    /**
+     * Adds the specified delta to the specified counter, keeps the counter non-negative.
+     *
+     * @param counter the specified counter
+     * @param delta the specified delta
+     */
+    private static void add(final AtomicInteger counter, final int delta) {
+        while (true) {
+            final int current = counter.get();
+            if (counter.compareAndSet(current, Math.max(0, current + delta))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Navigation counters of a user.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 16, 2026
+     * @since 1.4.0
+     */
+    public static final class Counters {
+
+        /**
+         * Following article count.
+         */
+        private final AtomicInteger followingArticleCnt;
+
+        /**
+         * Following tag count.
+         */
+        private final AtomicInteger followingTagCnt;
+
+        /**
+         * Following user count.
+         */
+        private final AtomicInteger followingUserCnt;
+
+        /**
+         * Unread notification count.
+         */
+        private final AtomicInteger unreadNotificationCnt;
+
+        /**
+         * Load time.
+         */
+        private final long loadTime = System.currentTimeMillis();
+
+        /**
+         * Constructs counters with the specified following counts and unread notification count.
+         *
+         * @param followingArticleCnt the specified following article count
+         * @param followingTagCnt the specified following tag count
+         * @param followingUserCnt the specified following user count
+         * @param unreadNotificationCnt the specified unread notification count
+         */
+        public Counters(final int followingArticleCnt, final int followingTagCnt, final int followingUserCnt,
+                final int unreadNotificationCnt) {
+            this.followingArticleCnt = new AtomicInteger(followingArticleCnt);
+            this.followingTagCnt = new AtomicInteger(followingTagCnt);
+            this.followingUserCnt = new AtomicInteger(followingUserCnt);
+            this.unreadNotificationCnt = new AtomicInteger(unreadNotificationCnt);
+        }
+
+        /**
+         * Gets the following article count.
+         *
+         * @return following article count
+         */
+        public int getFollowingArticleCnt() {
+            return followingArticleCnt.get();
+        }
+
+        /**
+         * Gets the following tag count.
+         *
+         * @return following tag count
+         */
+        public int getFollowingTagCnt() {
+            return followingTagCnt.get();
+        }
+
+        /**
+         * Gets the following user count.
+         *
+         * @return following user count
+         */
+        public int getFollowingUserCnt() {
+            return followingUserCnt.get();
+        }
+
+        /**
+         * Gets the unread notification count.
+         *
+         * @return unread notification count
+         */
+        public int getUnreadNotificationCnt() {
+            return unreadNotificationCnt.get();
+        }
+    }
+}
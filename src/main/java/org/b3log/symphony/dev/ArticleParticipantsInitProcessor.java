@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.dev;
+
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.b3log.latke.servlet.HTTPRequestContext;
+import org.b3log.latke.servlet.HTTPRequestMethod;
+import org.b3log.latke.servlet.annotation.RequestProcessing;
+import org.b3log.latke.servlet.annotation.RequestProcessor;
+import org.b3log.symphony.service.ArticleMgmtService;
+import org.b3log.symphony.util.Symphonys;
+
+/**
+ * Generates the latest participants ring for existing articles.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+@RequestProcessor
+public class ArticleParticipantsInitProcessor {
+
+    /**
+     * Article management service.
+     */
+    @Inject
+    private ArticleMgmtService articleMgmtService;
+
+    /**
+     * Generates the latest participants ring for existing articles.
+     *
+     * @param context the specified context
+     * @param request the specified request
+     * @param response the specified response
+     * @throws Exception exception
+     */
+    @RequestProcessing(value = "/dev/article/participants/gen", method = HTTPRequestMethod.GET)
+    public void genLatestParticipants(final HTTPRequestContext context,
+            final HttpServletRequest request, final HttpServletResponse response)
+            throws Exception {
+        final String key = request.getParameter("key");
+        if (!Symphonys.get("keyOfSymphony").equals(key)) {
+            return;
+        }
+
+        articleMgmtService.genLatestParticipants();
+
+        response.sendRedirect("/");
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.event;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import org.b3log.latke.Keys;
+import org.b3log.latke.event.AbstractEventListener;
+import org.b3log.latke.event.Event;
+import org.b3log.latke.event.EventException;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.ShortLinkCache;
+import org.b3log.symphony.model.Article;
+import org.json.JSONObject;
+
+/**
+ * Removes the cached rendered content, discussion invitees and short link title of the updated article.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.2.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+@Named
+public class ArticleCacheCleaner extends AbstractEventListener<JSONObject> {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ArticleCacheCleaner.class.getName());
+
+    /**
+     * Article cache.
+     */
+    @Inject
+    private ArticleCache articleCache;
+
+    /**
+     * Short link cache.
+     */
+    @Inject
+    private ShortLinkCache shortLinkCache;
+
+    @Override
+    public void action(final Event<JSONObject> event) throws EventException {
+        final JSONObject data = event.getData();
+        LOGGER.log(Level.DEBUG, "Processing an event[type={0}, data={1}] in listener[className={2}]",
+                new Object[]{event.getType(), data, ArticleCacheCleaner.class.getName()});
+
+        final JSONObject article = data.optJSONObject(Article.ARTICLE);
+        if (null == article) {
+            return;
+        }
+
+        final String articleId = article.optString(Keys.OBJECT_ID);
+        articleCache.removeContent(articleId);
+        articleCache.removeInvitees(articleId);
+        shortLinkCache.removeArticleTitle(articleId);
+    }
+
+    /**
+     * Gets the event type {@linkplain EventTypes#UPDATE_ARTICLE}.
+     *
+     * @return event type
+     */
+    @Override
+    public String getEventType() {
+        return EventTypes.UPDATE_ARTICLE;
+    }
+}
@@ -36,7 +36,7 @@ import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Notification;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.processor.channel.ArticleChannel;
-import org.b3log.symphony.processor.channel.ArticleListChannel;
+import org.b3log.symphony.processor.channel.HeatDispatcher;
 import org.b3log.symphony.service.AvatarQueryService;
 import org.b3log.symphony.service.NotificationMgmtService;
 import org.b3log.symphony.service.ShortLinkQueryService;
@@ -52,7 +52,7 @@ import org.jsoup.Jsoup;
  * Sends a comment notification.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.4.4.12, Feb 26, 2016
+ * @version 1.4.5.12, Oct 16, 2026
  * @since 0.2.0
  */
 @Named
@@ -150,12 +150,7 @@ public class CommentNotifier extends AbstractEventListener<JSONObject> {
             ArticleChannel.notifyComment(chData);
 
             // + Article Heat
-            final JSONObject articleHeat = new JSONObject();
-            articleHeat.put(Article.ARTICLE_T_ID, originalArticle.optString(Keys.OBJECT_ID));
-            articleHeat.put(Common.OPERATION, "+");
-
-            ArticleListChannel.notifyHeat(articleHeat);
-            ArticleChannel.notifyHeat(articleHeat);
+            HeatDispatcher.change(originalArticle.optString(Keys.OBJECT_ID), 0);
 
             final boolean isDiscussion = originalArticle.optInt(Article.ARTICLE_TYPE) == Article.ARTICLE_TYPE_C_DISCUSSION;
 
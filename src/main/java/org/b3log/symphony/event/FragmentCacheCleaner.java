@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.event;
+
+import java.util.Arrays;
+import org.b3log.latke.event.AbstractEventListener;
+import org.b3log.latke.event.Event;
+import org.b3log.latke.event.EventException;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.symphony.cache.FragmentCache;
+import org.json.JSONObject;
+
+/**
+ * Removes the cached fragments changed by an event.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+public final class FragmentCacheCleaner extends AbstractEventListener<JSONObject> {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(FragmentCacheCleaner.class.getName());
+
+    /**
+     * Fragment cache.
+     */
+    private final FragmentCache fragmentCache;
+
+    /**
+     * Event type.
+     */
+    private final String eventType;
+
+    /**
+     * Names of the fragments to remove.
+     */
+    private final String[] fragments;
+
+    /**
+     * Constructs a fragment cache cleaner with the specified fragment cache, event type and fragment names.
+     *
+     * @param fragmentCache the specified fragment cache
+     * @param eventType the specified event type
+     * @param fragments the specified names of the fragments to remove on the event
+     */
+    public FragmentCacheCleaner(final FragmentCache fragmentCache, final String eventType, final String... fragments) {
+        this.fragmentCache = fragmentCache;
+        this.eventType = eventType;
+        this.fragments = fragments;
+    }
+
+    @Override
+    public void action(final Event<JSONObject> event) throws EventException {
+        LOGGER.log(Level.DEBUG, "Processing an event[type={0}] in listener[className={1}], removes fragments {2}",
+                new Object[]{event.getType(), FragmentCacheCleaner.class.getName(), Arrays.toString(fragments)});
+
+        fragmentCache.remove(fragments);
+    }
+
+    /**
+     * Gets the event type specified in constructor.
+     *
+     * @return event type
+     */
+    @Override
+    public String getEventType() {
+        return eventType;
+    }
+}
@@ -19,7 +19,7 @@ package org.b3log.symphony.model;
  * This class defines all article model relevant keys.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.9.0.11, Sep 19, 2015
+ * @version 1.11.0.11, Oct 16, 2026
  * @since 0.2.0
  */
 public final class Article {
@@ -164,6 +164,34 @@ public final class Article {
      */
     public static final String ARTICLE_IP = "articleIP";
 
+    /**
+     * Key of article latest participants (JSON array string, ordered by comment id descending), for example,
+     * <pre>
+     * [{"oId": "", "commentAuthorEmail": ""}, ....]
+     * </pre>
+     */
+    public static final String ARTICLE_LATEST_PARTICIPANTS = "articleLatestParticipants";
+
+    /**
+     * Key of article title HTML, the sanitized title derived on write.
+     */
+    public static final String ARTICLE_TITLE_HTML = "articleTitleHTML";
+
+    /**
+     * Key of article content HTML, the viewer-independent rendered content derived on write.
+     */
+    public static final String ARTICLE_CONTENT_HTML = "articleContentHTML";
+
+    /**
+     * Key of article reward content HTML, the rendered reward content derived on write.
+     */
+    public static final String ARTICLE_REWARD_CONTENT_HTML = "articleRewardContentHTML";
+
+    /**
+     * Key of article HTML version, the renderer version of the derived HTML.
+     */
+    public static final String ARTICLE_HTML_VERSION = "articleHTMLVersion";
+
     //// Transient ////
     /**
      * Key of article view count display format.
@@ -19,7 +19,7 @@ package org.b3log.symphony.model;
  * This class defines all comment model relevant keys.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.8, Sep 19, 2015
+ * @version 1.2.0.8, Oct 16, 2026
  * @since 0.2.0
  */
 public final class Comment {
@@ -84,6 +84,16 @@ public final class Comment {
      */
     public static final String COMMENT_IP = "commentIP";
 
+    /**
+     * Key of comment content HTML, the viewer-independent rendered content derived on write.
+     */
+    public static final String COMMENT_CONTENT_HTML = "commentContentHTML";
+
+    /**
+     * Key of comment HTML version, the renderer version of the derived HTML.
+     */
+    public static final String COMMENT_HTML_VERSION = "commentHTMLVersion";
+
     //// Transient ////
     /**
      * Key of commenter.
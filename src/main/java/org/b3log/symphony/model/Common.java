@@ -19,7 +19,7 @@ package org.b3log.symphony.model;
  * This class defines all common model relevant keys.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.25.1.11, Mar 8, 2016
+ * @version 1.26.0.11, Oct 16, 2026
  * @since 0.2.0
  */
 public final class Common {
@@ -34,6 +34,16 @@ public final class Common {
      */
     public static final String TITLE = "title";
 
+    /**
+     * Key of sequence.
+     */
+    public static final String SEQUENCE = "sequence";
+
+    /**
+     * Key of since.
+     */
+    public static final String SINCE = "since";
+
     /**
      * Key of WebSocket scheme.
      */
@@ -63,7 +63,7 @@ import org.json.JSONObject;
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.4.1.1, Feb 16, 2016
+ * @version 1.4.1.2, Oct 17, 2026
  * @since 1.3.0
  */
 @RequestProcessor
@@ -213,6 +213,10 @@ public class ActivityProcessor {
 
                 final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId,
                         Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001, 1);
+                if (null == records || records.isEmpty()) {
+                    break;
+                }
+
                 final JSONObject pointtransfer = records.get(0);
                 final String data = pointtransfer.optString(Pointtransfer.DATA_ID);
                 final String smallOrLarge = data.split("-")[1];
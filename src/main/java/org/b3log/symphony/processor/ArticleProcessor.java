@@ -103,7 +103,7 @@ import org.jsoup.safety.Whitelist;
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.13.11.27, Jan 26, 2016
+ * @version 1.15.0.27, Oct 16, 2026
  * @since 0.2.0
  */
 @RequestProcessor
@@ -114,6 +114,16 @@ public class ArticleProcessor {
      */
     private static final Logger LOGGER = Logger.getLogger(ArticleProcessor.class.getName());
 
+    /**
+     * Size of a batch of the HTML rendering.
+     */
+    private static final int HTML_RENDER_BATCH_SIZE = 100;
+
+    /**
+     * Max count of the batches of the HTML rendering per request.
+     */
+    private static final int HTML_RENDER_BATCH_CNT = 10;
+
     /**
      * Short link query service.
      */
@@ -1264,4 +1274,54 @@ public class ArticleProcessor {
         context.renderTrueResult().
                 renderJSONValue(Article.ARTICLE_REWARD_CONTENT, article.optString(Article.ARTICLE_REWARD_CONTENT));
     }
+
+    /**
+     * Flushes the buffered article view counts.
+     *
+     * @param context the specified context
+     * @param request the specified request
+     * @param response the specified response
+     * @throws Exception exception
+     */
+    @RequestProcessing(value = "/articles/flush-view-counts", method = HTTPRequestMethod.GET)
+    public void flushArticleViewCounts(final HTTPRequestContext context,
+            final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        final String key = Symphonys.get("keyOfSymphony");
+        if (!key.equals(request.getParameter("key"))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+
+            return;
+        }
+
+        articleMgmtService.flushArticleViewCounts();
+
+        context.renderJSON().renderTrueResult();
+    }
+
+    /**
+     * Renders the stale derived HTML of articles, in batches.
+     *
+     * @param context the specified context
+     * @param request the specified request
+     * @param response the specified response
+     * @throws Exception exception
+     */
+    @RequestProcessing(value = "/articles/render-html", method = HTTPRequestMethod.GET)
+    public void renderArticlesHTML(final HTTPRequestContext context,
+            final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        final String key = Symphonys.get("keyOfSymphony");
+        if (!key.equals(request.getParameter("key"))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+
+            return;
+        }
+
+        for (int i = 0; i < HTML_RENDER_BATCH_CNT; i++) {
+            if (!articleMgmtService.renderArticlesHTML(HTML_RENDER_BATCH_SIZE)) {
+                break;
+            }
+        }
+
+        context.renderJSON().renderTrueResult();
+    }
 }
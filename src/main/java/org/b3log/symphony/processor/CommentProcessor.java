@@ -46,6 +46,7 @@ import org.b3log.symphony.service.ClientMgmtService;
 import org.b3log.symphony.service.ClientQueryService;
 import org.b3log.symphony.service.CommentMgmtService;
 import org.b3log.symphony.service.UserQueryService;
+import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
 /**
@@ -63,7 +64,7 @@ import org.json.JSONObject;
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.1.10, Jan 2, 2016
+ * @version 1.3.0.10, Oct 16, 2026
  * @since 0.2.0
  */
 @RequestProcessor
@@ -74,6 +75,16 @@ public class CommentProcessor {
      */
     private static final Logger LOGGER = Logger.getLogger(CommentProcessor.class.getName());
 
+    /**
+     * Size of a batch of the HTML rendering.
+     */
+    private static final int HTML_RENDER_BATCH_SIZE = 100;
+
+    /**
+     * Max count of the batches of the HTML rendering per request.
+     */
+    private static final int HTML_RENDER_BATCH_CNT = 10;
+
     /**
      * User query service.
      */
@@ -332,4 +343,31 @@ public class CommentProcessor {
 
         LOGGER.log(Level.DEBUG, "Added a comment from solo");
     }
+
+    /**
+     * Renders the stale derived HTML of comments, in batches.
+     *
+     * @param context the specified context
+     * @param request the specified request
+     * @param response the specified response
+     * @throws Exception exception
+     */
+    @RequestProcessing(value = "/comments/render-html", method = HTTPRequestMethod.GET)
+    public void renderCommentsHTML(final HTTPRequestContext context,
+            final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        final String key = Symphonys.get("keyOfSymphony");
+        if (!key.equals(request.getParameter("key"))) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+
+            return;
+        }
+
+        for (int i = 0; i < HTML_RENDER_BATCH_CNT; i++) {
+            if (!commentMgmtService.renderCommentsHTML(HTML_RENDER_BATCH_SIZE)) {
+                break;
+            }
+        }
+
+        context.renderJSON().renderTrueResult();
+    }
 }
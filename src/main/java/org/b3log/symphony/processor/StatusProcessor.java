@@ -26,8 +26,19 @@ import org.b3log.latke.servlet.HTTPRequestMethod;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.symphony.SymphonyServletListener;
+import org.b3log.symphony.cache.ActivityCache;
+import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.ArticleParticipantCache;
+import org.b3log.symphony.cache.ArticleViewCountBuffer;
+import org.b3log.symphony.cache.FragmentCache;
+import org.b3log.symphony.cache.ShortLinkCache;
+import org.b3log.symphony.cache.UserNameCache;
+import org.b3log.symphony.cache.UserNavCache;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.processor.channel.ArticleListChannel;
+import org.b3log.symphony.processor.channel.HeatDispatcher;
+import org.b3log.symphony.processor.channel.OnlineVisitors;
+import org.b3log.symphony.processor.channel.Outbound;
 import org.b3log.symphony.service.OptionQueryService;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
@@ -42,7 +53,7 @@ import org.json.JSONObject;
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.1, Jan 2, 2016
+ * @version 1.3.9.1, Oct 16, 2026
  * @since 1.3.0
  */
 @RequestProcessor
@@ -59,6 +70,54 @@ public class StatusProcessor {
     @Inject
     private OptionQueryService optionQueryService;
 
+    /**
+     * Article cache.
+     */
+    @Inject
+    private ArticleCache articleCache;
+
+    /**
+     * Article participant cache.
+     */
+    @Inject
+    private ArticleParticipantCache articleParticipantCache;
+
+    /**
+     * Short link cache.
+     */
+    @Inject
+    private ShortLinkCache shortLinkCache;
+
+    /**
+     * Fragment cache.
+     */
+    @Inject
+    private FragmentCache fragmentCache;
+
+    /**
+     * User navigation cache.
+     */
+    @Inject
+    private UserNavCache userNavCache;
+
+    /**
+     * Activity cache.
+     */
+    @Inject
+    private ActivityCache activityCache;
+
+    /**
+     * Username cache.
+     */
+    @Inject
+    private UserNameCache userNameCache;
+
+    /**
+     * Article view count buffer.
+     */
+    @Inject
+    private ArticleViewCountBuffer articleViewCountBuffer;
+
     /**
      * Reports running status.
      *
@@ -82,8 +141,23 @@ public class StatusProcessor {
         context.renderJSON(ret);
 
         ret.put(Common.ONLINE_VISITOR_CNT, optionQueryService.getOnlineVisitorCount());
+        ret.put("onlineVisitors", OnlineVisitors.getStatistic());
         ret.put(Common.ARTICLE_CHANNEL_CNT, ArticleChannel.SESSIONS.size());
         ret.put(Common.ARTICLE_LIST_CHANNEL_CNT, ArticleListChannel.SESSIONS.size());
+        ret.put("articleHeat", HeatDispatcher.getStatistic());
+        ret.put("outbound", Outbound.getStatistic());
+
+        final JSONObject cache = new JSONObject();
+        ret.put("cache", cache);
+        cache.put("articleContent", articleCache.getStatistic());
+        cache.put("articleParticipants", articleParticipantCache.getStatistic());
+        cache.put("userNames", userNameCache.getStatistic());
+        cache.put("shortLinks", shortLinkCache.getStatistic());
+        cache.put("fragments", fragmentCache.getStatistic());
+        cache.put("userNavs", userNavCache.getStatistic());
+        cache.put("activities", activityCache.getStatistic());
+
+        ret.put("articleViewCountBuffer", articleViewCountBuffer.getStatistic());
 
         final JSONObject memory = new JSONObject();
         ret.put("memory", memory);
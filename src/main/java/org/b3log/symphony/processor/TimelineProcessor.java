@@ -19,6 +19,7 @@ import java.util.Map;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import org.apache.commons.lang.math.NumberUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.servlet.HTTPRequestContext;
@@ -28,6 +29,7 @@ import org.b3log.latke.servlet.annotation.Before;
 import org.b3log.latke.servlet.annotation.RequestProcessing;
 import org.b3log.latke.servlet.annotation.RequestProcessor;
 import org.b3log.latke.servlet.renderer.freemarker.AbstractFreeMarkerRenderer;
+import org.b3log.symphony.model.Common;
 import org.b3log.symphony.processor.advice.stopwatch.StopwatchEndAdvice;
 import org.b3log.symphony.processor.advice.stopwatch.StopwatchStartAdvice;
 import org.b3log.symphony.service.TimelineMgmtService;
@@ -39,10 +41,11 @@ import org.b3log.symphony.util.Symphonys;
  *
  * <ul>
  * <li>Shows index (/timeline), GET</li>
+ * <li>Gets timelines added after a sequence (/timeline?since=), GET</li>
  * </ul>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.2, Feb 26, 2016
+ * @version 1.1.0.2, Oct 16, 2026
  * @since 1.3.0
  */
 @RequestProcessor
@@ -78,6 +81,14 @@ public class TimelineProcessor {
     @After(adviceClass = StopwatchEndAdvice.class)
     public void showTimeline(final HTTPRequestContext context,
             final HttpServletRequest request, final HttpServletResponse response) throws Exception {
+        final String since = request.getParameter(Common.SINCE);
+        if (null != since) {
+            context.renderJSON().renderTrueResult();
+            context.renderJSONValue("timelines", timelineMgmtService.getTimelines(NumberUtils.toLong(since)));
+
+            return;
+        }
+
         request.setAttribute(Keys.TEMAPLTE_DIR_NAME, Symphonys.get("skinDirName"));
         final AbstractFreeMarkerRenderer renderer = new SkinRenderer();
         context.setRenderer(renderer);
@@ -92,5 +103,6 @@ public class TimelineProcessor {
 
         dataModel.put("timelineCnt", Symphonys.getInt("timelineCnt"));
         dataModel.put("timelines", timelineMgmtService.getTimelines());
+        dataModel.put("timelineSeq", timelineMgmtService.getSequence());
     }
 }
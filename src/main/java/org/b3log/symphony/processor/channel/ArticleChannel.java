@@ -17,9 +17,10 @@ package org.b3log.symphony.processor.channel;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.websocket.CloseReason;
 import javax.websocket.OnClose;
 import javax.websocket.OnError;
@@ -28,7 +29,7 @@ import javax.websocket.OnOpen;
 import javax.websocket.Session;
 import javax.websocket.server.ServerEndpoint;
 import org.apache.commons.lang.StringUtils;
-import org.b3log.latke.Keys;
+import org.apache.commons.lang.math.NumberUtils;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.LatkeBeanManager;
 import org.b3log.latke.ioc.LatkeBeanManagerImpl;
@@ -39,7 +40,7 @@ import org.b3log.latke.model.User;
 import org.b3log.latke.repository.jdbc.JdbcRepository;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.LangPropsServiceImpl;
-import org.b3log.latke.util.Strings;
+import org.b3log.symphony.cache.ArticleCache;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Comment;
 import org.b3log.symphony.model.Common;
@@ -54,7 +55,7 @@ import org.jsoup.Jsoup;
  * Article channel.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.2.6.2, Feb 28, 2016
+ * @version 2.6.0.2, Oct 16, 2026
  * @since 1.3.0
  */
 @ServerEndpoint(value = "/article-channel", configurator = Channels.WebSocketConfigurator.class)
@@ -68,7 +69,12 @@ public class ArticleChannel {
     /**
      * Session set.
      */
-    public static final Set<Session> SESSIONS = new CopyOnWriteArraySet<Session>();
+    public static final Set<Session> SESSIONS = Collections.newSetFromMap(new ConcurrentHashMap<Session, Boolean>());
+
+    /**
+     * Article sessions &lt;articleId, sessions&gt;.
+     */
+    public static final SessionIndex ARTICLE_SESSIONS = new SessionIndex();
 
     /**
      * Article viewing map &lt;articleId, count&gt;.
@@ -88,7 +94,13 @@ public class ArticleChannel {
             return;
         }
 
+        session.getUserProperties().put(Article.ARTICLE_T_ID, articleId);
+        session.getUserProperties().put(Article.ARTICLE_TYPE,
+                NumberUtils.toInt(Channels.getHttpParameter(session, Article.ARTICLE_TYPE), Article.ARTICLE_TYPE_C_NORMAL));
+
+        Outbound.open(Outbound.CHANNEL_ARTICLE, session);
         SESSIONS.add(session);
+        ARTICLE_SESSIONS.add(articleId, session);
 
         synchronized (ARTICLE_VIEWS) {
             if (!ARTICLE_VIEWS.containsKey(articleId)) {
@@ -99,12 +111,7 @@ public class ArticleChannel {
             }
         }
 
-        final JSONObject message = new JSONObject();
-        message.put(Article.ARTICLE_T_ID, articleId);
-        message.put(Common.OPERATION, "+");
-
-        ArticleListChannel.notifyHeat(message);
-        notifyHeat(message);
+        HeatDispatcher.change(articleId, 1);
 
         final JSONObject user = (JSONObject) Channels.getHttpSessionAttribute(session, User.USER);
         if (null == user) {
@@ -179,25 +186,19 @@ public class ArticleChannel {
      * @param message the specified message, for example      <pre>
      * {
      *     "articleId": "",
-     *     "operation": "" // "+"/"-"
+     *     "operation": "", // "+"/"-"
+     *     "articleHeat": int
      * }
      * </pre>
+     * @see HeatDispatcher
      */
     public static void notifyHeat(final JSONObject message) {
         message.put(Common.TYPE, Article.ARTICLE_T_HEAT);
 
         final String msgStr = message.toString();
 
-        for (final Session session : SESSIONS) {
-            final String viewingArticleId = (String) Channels.getHttpParameter(session, Article.ARTICLE_T_ID);
-            if (Strings.isEmptyOrNull(viewingArticleId)
-                    || !viewingArticleId.equals(message.optString(Article.ARTICLE_T_ID))) {
-                continue;
-            }
-
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(msgStr);
-            }
+        for (final Session session : ARTICLE_SESSIONS.get(message.optString(Article.ARTICLE_T_ID))) {
+            Outbound.send(session, msgStr);
         }
     }
 
@@ -223,19 +224,11 @@ public class ArticleChannel {
         message.put(Common.TYPE, Comment.COMMENT);
 
         final String msgStr = message.toString();
+        final String viewingArticleId = message.optString(Article.ARTICLE_T_ID);
+        Set<String> invitees = null; // Resolves once per broadcast
 
-        final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
-        final UserQueryService userQueryService = beanManager.getReference(UserQueryService.class);
-        final ArticleRepository articleRepository = beanManager.getReference(ArticleRepository.class);
-
-        for (final Session session : SESSIONS) {
-            final String viewingArticleId = (String) Channels.getHttpParameter(session, Article.ARTICLE_T_ID);
-            if (Strings.isEmptyOrNull(viewingArticleId)
-                    || !viewingArticleId.equals(message.optString(Article.ARTICLE_T_ID))) {
-                continue;
-            }
-
-            final int articleType = Integer.valueOf(Channels.getHttpParameter(session, Article.ARTICLE_TYPE));
+        for (final Session session : ARTICLE_SESSIONS.get(viewingArticleId)) {
+            final int articleType = (Integer) session.getUserProperties().get(Article.ARTICLE_TYPE);
 
             try {
                 if (Article.ARTICLE_TYPE_C_DISCUSSION == articleType) {
@@ -245,56 +238,74 @@ public class ArticleChannel {
                     }
 
                     final String userName = user.optString(User.USER_NAME);
-                    final String userId = user.optString(Keys.OBJECT_ID);
                     final String userRole = user.optString(User.USER_ROLE);
 
-                    final JSONObject article = articleRepository.get(viewingArticleId);
-                    final String articleAuthorId = article.optString(Article.ARTICLE_AUTHOR_ID);
-                    if (!userId.equals(articleAuthorId)) {
-                        final String articleContent = article.optString(Article.ARTICLE_CONTENT);
-                        final Set<String> userNames = userQueryService.getUserNames(articleContent);
-
-                        boolean invited = false;
-                        for (final String inviteUserName : userNames) {
-                            if (inviteUserName.equals(userName)) {
-                                invited = true;
-
-                                break;
-                            }
-                        }
-
-                        if (Role.ADMIN_ROLE.equals(userRole)) {
-                            invited = true;
-                        }
+                    if (null == invitees) {
+                        invitees = getInvitees(viewingArticleId);
+                    }
 
-                        if (!invited) {
-                            continue; // next session
-                        }
+                    if (!invitees.contains(userName) && !Role.ADMIN_ROLE.equals(userRole)) {
+                        continue; // next session
                     }
                 }
 
-                if (session.isOpen()) {
-                    session.getAsyncRemote().sendText(msgStr);
-                }
+                Outbound.send(session, msgStr);
             } catch (final Exception e) {
                 LOGGER.log(Level.ERROR, "Notify comment error", e);
             }
         }
     }
 
+    /**
+     * Gets the invited usernames (including the author) of a discussion specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @return usernames, cached by {@link ArticleCache} until the article updated
+     * @throws Exception exception
+     */
+    private static Set<String> getInvitees(final String articleId) throws Exception {
+        final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
+        final ArticleCache articleCache = beanManager.getReference(ArticleCache.class);
+
+        Set<String> ret = articleCache.getInvitees(articleId);
+        if (null != ret) {
+            return ret;
+        }
+
+        final UserQueryService userQueryService = beanManager.getReference(UserQueryService.class);
+        final ArticleRepository articleRepository = beanManager.getReference(ArticleRepository.class);
+
+        final JSONObject article = articleRepository.get(articleId);
+        if (null == article) {
+            return Collections.emptySet();
+        }
+
+        ret = new HashSet<String>(userQueryService.getUserNames(article.optString(Article.ARTICLE_CONTENT)));
+
+        final JSONObject author = userQueryService.getUser(article.optString(Article.ARTICLE_AUTHOR_ID));
+        if (null != author) {
+            ret.add(author.optString(User.USER_NAME));
+        }
+
+        articleCache.putInvitees(articleId, ret);
+
+        return ret;
+    }
+
     /**
      * Removes the specified session.
      *
      * @param session the specified session
      */
     private void removeSession(final Session session) {
-        SESSIONS.remove(session);
-
-        final String articleId = (String) Channels.getHttpParameter(session, Article.ARTICLE_T_ID);
-        if (StringUtils.isBlank(articleId)) {
+        if (!SESSIONS.remove(session)) { // Closed after an error
             return;
         }
 
+        final String articleId = (String) session.getUserProperties().get(Article.ARTICLE_T_ID);
+        ARTICLE_SESSIONS.remove(articleId, session);
+        Outbound.close(session);
+
         synchronized (ARTICLE_VIEWS) {
             if (!ARTICLE_VIEWS.containsKey(articleId)) {
                 return;
@@ -309,12 +320,7 @@ public class ArticleChannel {
             }
         }
 
-        final JSONObject message = new JSONObject();
-        message.put(Article.ARTICLE_T_ID, articleId);
-        message.put(Common.OPERATION, "-");
-
-        ArticleListChannel.notifyHeat(message);
-        notifyHeat(message);
+        HeatDispatcher.change(articleId, -1);
 
         final JSONObject user = (JSONObject) Channels.getHttpSessionAttribute(session, User.USER);
         if (null == user) {
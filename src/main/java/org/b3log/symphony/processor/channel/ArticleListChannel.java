@@ -16,8 +16,10 @@
 package org.b3log.symphony.processor.channel;
 
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.websocket.CloseReason;
 import javax.websocket.OnClose;
 import javax.websocket.OnError;
@@ -26,15 +28,23 @@ import javax.websocket.OnOpen;
 import javax.websocket.Session;
 import javax.websocket.server.ServerEndpoint;
 import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.symphony.model.Article;
+import org.json.JSONException;
 import org.json.JSONObject;
 
 /**
  * Article list channel.
  *
+ * <p>
+ * A client subscribes the articles listed on its page by the {@code articleIds} parameter ("articleId1,articleId2")
+ * when connecting, and may change the subscription by sending a message {"articleIds": "articleId1,articleId2"}
+ * (for example, after paginating).
+ * </p>
+ *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.1.1, Feb 28, 2016
+ * @version 2.2.0.1, Oct 16, 2026
  * @since 1.3.0
  */
 @ServerEndpoint(value = "/article-list-channel", configurator = Channels.WebSocketConfigurator.class)
@@ -46,9 +56,14 @@ public class ArticleListChannel {
     private static final Logger LOGGER = Logger.getLogger(ArticleListChannel.class.getName());
 
     /**
-     * Session articles &lt;session, "articleId1,articleId2"&gt;.
+     * Session articles &lt;session, articleIds&gt;.
      */
-    public static final Map<Session, String> SESSIONS = Collections.synchronizedMap(new HashMap<Session, String>());
+    public static final Map<Session, Set<String>> SESSIONS = new ConcurrentHashMap<Session, Set<String>>();
+
+    /**
+     * Article sessions &lt;articleId, sessions&gt;.
+     */
+    public static final SessionIndex ARTICLE_SESSIONS = new SessionIndex();
 
     /**
      * Called when the socket connection with the browser is established.
@@ -62,7 +77,7 @@ public class ArticleListChannel {
             return;
         }
 
-        SESSIONS.put(session, articleIds);
+        subscribe(session, articleIds);
     }
 
     /**
@@ -73,16 +88,32 @@ public class ArticleListChannel {
      */
     @OnClose
     public void onClose(final Session session, final CloseReason closeReason) {
-        SESSIONS.remove(session);
+        removeSession(session);
     }
 
     /**
      * Called when a message received from the browser.
      *
-     * @param message message
+     * @param session session
+     * @param message message, heartbeat or subscription, for example      <pre>
+     * {
+     *     "articleIds": "articleId1,articleId2"
+     * }
+     * </pre>
      */
     @OnMessage
-    public void onMessage(final String message) {
+    public void onMessage(final Session session, final String message) {
+        if (!StringUtils.startsWith(message, "{")) {
+            return; // Heartbeat
+        }
+
+        try {
+            final JSONObject subscription = new JSONObject(message);
+
+            subscribe(session, subscription.optString(Article.ARTICLE_T_IDS));
+        } catch (final JSONException e) {
+            LOGGER.log(Level.WARN, "Wrong subscription [" + message + "]");
+        }
     }
 
     /**
@@ -93,7 +124,7 @@ public class ArticleListChannel {
      */
     @OnError
     public void onError(final Session session, final Throwable error) {
-        SESSIONS.remove(session);
+        removeSession(session);
     }
 
     /**
@@ -102,27 +133,71 @@ public class ArticleListChannel {
      * @param message the specified message, for example      <pre>
      * {
      *     "articleId": "",
-     *     "operation": "" // "+"/"-"
+     *     "operation": "", // "+"/"-"
+     *     "articleHeat": int
      * }
      * </pre>
+     * @see HeatDispatcher
      */
     public static void notifyHeat(final JSONObject message) {
         final String articleId = message.optString(Article.ARTICLE_T_ID);
         final String msgStr = message.toString();
 
-        synchronized (SESSIONS) {
-            for (final Map.Entry<Session, String> entry : SESSIONS.entrySet()) {
-                final Session session = entry.getKey();
-                final String articleIds = entry.getValue();
+        for (final Session session : ARTICLE_SESSIONS.get(articleId)) {
+            Outbound.send(session, msgStr);
+        }
+    }
 
-                if (!StringUtils.contains(articleIds, articleId)) {
-                    continue;
-                }
+    /**
+     * Subscribes the specified articles for the specified session, replaces the previous subscription.
+     *
+     * @param session the specified session
+     * @param articleIds the specified article ids, for example "articleId1,articleId2"
+     */
+    private static void subscribe(final Session session, final String articleIds) {
+        final Set<String> ids = new LinkedHashSet<String>();
+        for (final String articleId : StringUtils.split(StringUtils.defaultString(articleIds), ',')) {
+            final String id = articleId.trim();
+            if (StringUtils.isNotBlank(id)) {
+                ids.add(id);
+            }
+        }
+
+        Outbound.open(Outbound.CHANNEL_ARTICLE_LIST, session);
 
-                if (session.isOpen()) {
-                    session.getAsyncRemote().sendText(msgStr);
+        synchronized (session) {
+            final Set<String> old = SESSIONS.put(session, Collections.unmodifiableSet(ids));
+            if (null != old) {
+                for (final String articleId : old) {
+                    if (!ids.contains(articleId)) {
+                        ARTICLE_SESSIONS.remove(articleId, session);
+                    }
                 }
             }
+
+            for (final String articleId : ids) {
+                ARTICLE_SESSIONS.add(articleId, session);
+            }
+        }
+    }
+
+    /**
+     * Removes the specified session.
+     *
+     * @param session the specified session
+     */
+    private static void removeSession(final Session session) {
+        synchronized (session) {
+            final Set<String> articleIds = SESSIONS.remove(session);
+            if (null == articleIds) {
+                return;
+            }
+
+            for (final String articleId : articleIds) {
+                ARTICLE_SESSIONS.remove(articleId, session);
+            }
         }
+
+        Outbound.close(session);
     }
 }
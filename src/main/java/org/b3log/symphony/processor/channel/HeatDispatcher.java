@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.processor.channel;
+
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Common;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+/**
+ * Article heat dispatcher.
+ *
+ * <p>
+ * Accumulates article heat changes (viewer connected/disconnected, commented) and emits at most one message per article
+ * per window (configured by {@code websocket.heatWindow} in symphony.properties) to both {@link ArticleChannel} and
+ * {@link ArticleListChannel}. The message carries the absolute heat (viewing count), for example,
+ * </p>
+ * <pre>
+ * {
+ *     "articleId": "",
+ *     "operation": "", // "+"/"-", the direction of the change
+ *     "articleHeat": int
+ * }
+ * </pre>
+ *
+ * <p>
+ * Every article has its own pending change which is drained atomically per window, an idle change is retired (marked
+ * with {@link #RETIRED}) before removal, so a change recorded concurrently with a dispatch is never lost but sent in
+ * the next window.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.0, Oct 17, 2026
+ * @since 1.4.0
+ */
+public final class HeatDispatcher {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(HeatDispatcher.class.getName());
+
+    /**
+     * Dispatch window (ms).
+     */
+    private static final long WINDOW = Symphonys.getLong("websocket.heatWindow");
+
+    /**
+     * Retired change mark.
+     */
+    private static final int RETIRED = Integer.MIN_VALUE;
+
+    /**
+     * Pending changes &lt;articleId, change&gt;.
+     */
+    private static final ConcurrentMap<String, Change> CHANGES = new ConcurrentHashMap<String, Change>();
+
+    /**
+     * Sent message count.
+     */
+    private static final AtomicLong SENT_CNT = new AtomicLong();
+
+    /**
+     * Suppressed (coalesced) message count.
+     */
+    private static final AtomicLong SUPPRESSED_CNT = new AtomicLong();
+
+    /**
+     * Timer.
+     */
+    private static Timer timer;
+
+    /**
+     * Records a heat change of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @param delta the specified viewing count delta, {@code 1} for connected, {@code -1} for disconnected and
+     * {@code 0} for commented
+     */
+    public static void change(final String articleId, final int delta) {
+        while (true) {
+            Change change = CHANGES.get(articleId);
+            if (null == change) {
+                change = new Change();
+                final Change old = CHANGES.putIfAbsent(articleId, change);
+                if (null != old) {
+                    change = old;
+                }
+            }
+
+            final int events = change.events.get();
+            if (RETIRED == events) {
+                CHANGES.remove(articleId, change);
+
+                continue;
+            }
+
+            if (change.events.compareAndSet(events, events + 1)) {
+                change.delta.addAndGet(delta);
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Dispatches the pending changes.
+     */
+    public static void dispatch() {
+        for (final Map.Entry<String, Change> entry : CHANGES.entrySet()) {
+            final String articleId = entry.getKey();
+            final Change change = entry.getValue();
+
+            final int events = change.events.getAndSet(0);
+            if (0 == events) {
+                if (0 == change.delta.get() && change.events.compareAndSet(0, RETIRED)) {
+                    CHANGES.remove(articleId, change);
+                }
+
+                continue;
+            }
+
+            final int delta = change.delta.getAndSet(0);
+
+            Integer heat = ArticleChannel.ARTICLE_VIEWS.get(articleId);
+            if (null == heat) {
+                heat = 0;
+            }
+
+            final JSONObject message = new JSONObject();
+            message.put(Article.ARTICLE_T_ID, articleId);
+            message.put(Common.OPERATION, delta < 0 ? "-" : "+");
+            message.put(Article.ARTICLE_T_HEAT, heat);
+
+            ArticleListChannel.notifyHeat(message);
+            ArticleChannel.notifyHeat(message);
+
+            SENT_CNT.incrementAndGet();
+            SUPPRESSED_CNT.addAndGet(events - 1);
+        }
+    }
+
+    /**
+     * Starts dispatching.
+     */
+    public static synchronized void start() {
+        if (null != timer) {
+            return;
+        }
+
+        timer = new Timer("HeatDispatcher", true);
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                try {
+                    dispatch();
+                } catch (final Exception e) {
+                    LOGGER.log(Level.ERROR, "Dispatches article heat failed", e);
+                }
+            }
+        }, WINDOW, WINDOW);
+
+        LOGGER.log(Level.INFO, "Started article heat dispatcher [window={0}ms]", WINDOW);
+    }
+
+    /**
+     * Stops dispatching.
+     */
+    public static synchronized void stop() {
+        if (null == timer) {
+            return;
+        }
+
+        timer.cancel();
+        timer = null;
+    }
+
+    /**
+     * Gets the statistic of this dispatcher.
+     *
+     * @return statistic, for example,      <pre>
+     * {
+     *     "window": long,
+     *     "pendingCount": int,
+     *     "sentCount": long,
+     *     "suppressedCount": long
+     * }
+     * </pre>
+     */
+    public static JSONObject getStatistic() {
+        final JSONObject ret = new JSONObject();
+
+        int pendingCnt = 0;
+        for (final Change change : CHANGES.values()) {
+            if (change.events.get() > 0) {
+                pendingCnt++;
+            }
+        }
+
+        ret.put("window", WINDOW);
+        ret.put("pendingCount", pendingCnt);
+        ret.put("sentCount", SENT_CNT.get());
+        ret.put("suppressedCount", SUPPRESSED_CNT.get());
+
+        return ret;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private HeatDispatcher() {
+    }
+
+    /**
+     * Pending heat change of an article.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 16, 2026
+     * @since 1.4.0
+     */
+    private static final class Change {
+
+        /**
+         * Viewing count delta.
+         */
+        private final AtomicInteger delta = new AtomicInteger();
+
+        /**
+         * Event count, {@link #RETIRED} if retired.
+         */
+        private final AtomicInteger events = new AtomicInteger();
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.processor.channel;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import org.b3log.latke.ioc.LatkeBeanManager;
+import org.b3log.latke.ioc.Lifecycle;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.jdbc.JdbcRepository;
+import org.b3log.symphony.model.Option;
+import org.b3log.symphony.service.OptionMgmtService;
+import org.b3log.symphony.service.OptionQueryService;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Online visitors sampler.
+ *
+ * <p>
+ * Samples the online visitor count (sessions of {@link ArticleChannel}, {@link ArticleListChannel} and
+ * {@link TimelineChannel}) every interval (configured by {@code websocket.onlineSampleInterval} in
+ * symphony.properties) into an immutable {@link Snapshot}, which could be read without locking. The max online visitor
+ * count is persisted by the sampler thread once it grows, so page rendering never touches the database for it.
+ * </p>
+ *
+ * <p>
+ * <b>Note</b>: The online visitor counting is NOT cluster-safe.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+public final class OnlineVisitors {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(OnlineVisitors.class.getName());
+
+    /**
+     * Sample interval (ms).
+     */
+    private static final long INTERVAL = Symphonys.getLong("websocket.onlineSampleInterval");
+
+    /**
+     * Max count of the samples kept.
+     */
+    private static final int SAMPLE_CNT = Symphonys.getInt("websocket.onlineSampleCnt");
+
+    /**
+     * Current snapshot.
+     */
+    private static volatile Snapshot snapshot = new Snapshot(0, 0, 0L, new int[0]);
+
+    /**
+     * Persisted max online visitor count, {@code -1} if not loaded yet. Accessed by the sampler only.
+     */
+    private static int persistedMax = -1;
+
+    /**
+     * Timer.
+     */
+    private static Timer timer;
+
+    /**
+     * Gets the online visitor count of the current snapshot.
+     *
+     * @return online visitor count
+     */
+    public static int getCount() {
+        return snapshot.count;
+    }
+
+    /**
+     * Gets the current snapshot.
+     *
+     * @return snapshot
+     */
+    public static Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Samples the online visitor count and persists the max online visitor count if it grows.
+     */
+    public static synchronized void sample() {
+        final int count = ArticleChannel.SESSIONS.size() + ArticleListChannel.SESSIONS.size()
+                + TimelineChannel.SESSIONS.size();
+
+        final Snapshot old = snapshot;
+        final int[] samples = old.samples;
+        final int[] newSamples;
+        if (samples.length < SAMPLE_CNT) {
+            newSamples = new int[samples.length + 1];
+            System.arraycopy(samples, 0, newSamples, 0, samples.length);
+        } else {
+            newSamples = new int[SAMPLE_CNT];
+            System.arraycopy(samples, 1, newSamples, 0, SAMPLE_CNT - 1);
+        }
+        newSamples[newSamples.length - 1] = count;
+
+        final int max = Math.max(Math.max(old.max, persistedMax), count);
+        snapshot = new Snapshot(count, max, System.currentTimeMillis(), newSamples);
+
+        persist(max);
+    }
+
+    /**
+     * Persists the specified max online visitor count if it is greater than the persisted one.
+     *
+     * @param max the specified max online visitor count
+     */
+    private static void persist(final int max) {
+        final LatkeBeanManager beanManager = Lifecycle.getBeanManager();
+
+        try {
+            if (persistedMax < 0) {
+                final OptionQueryService optionQueryService = beanManager.getReference(OptionQueryService.class);
+                final JSONObject option = optionQueryService.getOption(Option.ID_C_STATISTIC_MAX_ONLINE_VISITOR_COUNT);
+
+                persistedMax = null == option ? 0 : option.optInt(Option.OPTION_VALUE);
+            }
+
+            if (max <= persistedMax) {
+                return;
+            }
+
+            final OptionMgmtService optionMgmtService = beanManager.getReference(OptionMgmtService.class);
+            optionMgmtService.updateMaxOnlineVisitorCount(max);
+
+            persistedMax = max;
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Persists the max online visitor count failed", e);
+        } finally {
+            JdbcRepository.dispose();
+        }
+    }
+
+    /**
+     * Starts sampling.
+     */
+    public static synchronized void start() {
+        if (null != timer) {
+            return;
+        }
+
+        timer = new Timer("OnlineVisitors", true);
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                try {
+                    sample();
+                } catch (final Exception e) {
+                    LOGGER.log(Level.ERROR, "Samples online visitors failed", e);
+                }
+            }
+        }, 0, INTERVAL);
+
+        LOGGER.log(Level.INFO, "Started online visitors sampler [interval={0}ms]", INTERVAL);
+    }
+
+    /**
+     * Stops sampling.
+     */
+    public static synchronized void stop() {
+        if (null == timer) {
+            return;
+        }
+
+        timer.cancel();
+        timer = null;
+    }
+
+    /**
+     * Gets the statistic of this sampler.
+     *
+     * @return statistic, for example,      <pre>
+     * {
+     *     "interval": long,
+     *     "count": int,
+     *     "max": int,
+     *     "time": long,
+     *     "samples": [int, ....] // oldest first
+     * }
+     * </pre>
+     */
+    public static JSONObject getStatistic() {
+        final Snapshot current = snapshot;
+        final JSONObject ret = new JSONObject();
+
+        ret.put("interval", INTERVAL);
+        ret.put("count", current.count);
+        ret.put("max", current.max);
+        ret.put("time", current.time);
+
+        final JSONArray samples = new JSONArray();
+        for (final int sample : current.samples) {
+            samples.put(sample);
+        }
+        ret.put("samples", samples);
+
+        return ret;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private OnlineVisitors() {
+    }
+
+    /**
+     * Online visitors snapshot, immutable.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 16, 2026
+     * @since 1.4.0
+     */
+    public static final class Snapshot {
+
+        /**
+         * Online visitor count.
+         */
+        private final int count;
+
+        /**
+         * Max online visitor count.
+         */
+        private final int max;
+
+        /**
+         * Sample time.
+         */
+        private final long time;
+
+        /**
+         * Recent samples, oldest first.
+         */
+        private final int[] samples;
+
+        /**
+         * Constructs a snapshot with the specified online visitor count, max online visitor count, sample time and
+         * recent samples.
+         *
+         * @param count the specified online visitor count
+         * @param max the specified max online visitor count
+         * @param time the specified sample time
+         * @param samples the specified recent samples, oldest first
+         */
+        private Snapshot(final int count, final int max, final long time, final int[] samples) {
+            this.count = count;
+            this.max = max;
+            this.time = time;
+            this.samples = samples;
+        }
+
+        /**
+         * Gets the online visitor count.
+         *
+         * @return online visitor count
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the max online visitor count.
+         *
+         * @return max online visitor count
+         */
+        public int getMax() {
+            return max;
+        }
+
+        /**
+         * Gets the sample time.
+         *
+         * @return sample time
+         */
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * Gets the recent samples.
+         *
+         * @return recent samples, oldest first
+         */
+        public int[] getSamples() {
+            return samples.clone();
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.processor.channel;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.websocket.CloseReason;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+/**
+ * Outbound message layer shared by all channels.
+ *
+ * <p>
+ * Every session has a bounded queue (configured by {@code websocket.sendQueueSize} in symphony.properties) and at most
+ * one in-flight asynchronous send. If the queue of a slow client is full, the oldest message will be dropped or the
+ * session will be disconnected, as configured by {@code websocket.sendQueuePolicy} ({@code dropOldest}/
+ * {@code disconnect}). Sending never holds a global lock.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.2, Oct 17, 2026
+ * @since 1.4.0
+ */
+public final class Outbound {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Outbound.class.getName());
+
+    /**
+     * Channel name of {@link ArticleChannel}.
+     */
+    public static final String CHANNEL_ARTICLE = "article";
+
+    /**
+     * Channel name of {@link ArticleListChannel}.
+     */
+    public static final String CHANNEL_ARTICLE_LIST = "articleList";
+
+    /**
+     * Channel name of {@link TimelineChannel}.
+     */
+    public static final String CHANNEL_TIMELINE = "timeline";
+
+    /**
+     * Queue size per session.
+     */
+    private static final int QUEUE_SIZE = Symphonys.getInt("websocket.sendQueueSize");
+
+    /**
+     * Whether to disconnect a slow session instead of dropping its oldest message.
+     */
+    private static final boolean DISCONNECT = "disconnect".equals(Symphonys.get("websocket.sendQueuePolicy"));
+
+    /**
+     * Session queues &lt;session, queue&gt;.
+     */
+    private static final ConcurrentMap<Session, SessionQueue> QUEUES = new ConcurrentHashMap<Session, SessionQueue>();
+
+    /**
+     * Channel statistics &lt;channel, statistic&gt;.
+     */
+    private static final ConcurrentMap<String, Statistic> STATISTICS = new ConcurrentHashMap<String, Statistic>();
+
+    static {
+        STATISTICS.put(CHANNEL_ARTICLE, new Statistic());
+        STATISTICS.put(CHANNEL_ARTICLE_LIST, new Statistic());
+        STATISTICS.put(CHANNEL_TIMELINE, new Statistic());
+    }
+
+    /**
+     * Opens the outbound queue of the specified session, does nothing if the queue has been opened.
+     *
+     * @param channel the specified channel name, for example {@link #CHANNEL_ARTICLE}
+     * @param session the specified session
+     */
+    public static void open(final String channel, final Session session) {
+        if (QUEUES.containsKey(session)) {
+            return;
+        }
+
+        final Statistic statistic = STATISTICS.get(channel);
+        if (null == QUEUES.putIfAbsent(session, new SessionQueue(session, statistic))) {
+            statistic.sessionCnt.incrementAndGet();
+        }
+    }
+
+    /**
+     * Closes the outbound queue of the specified session, the pending messages will be discarded.
+     *
+     * @param session the specified session
+     */
+    public static void close(final Session session) {
+        final SessionQueue queue = QUEUES.remove(session);
+        if (null != queue) {
+            queue.clear();
+        }
+    }
+
+    /**
+     * Sends the specified message to the specified session.
+     *
+     * @param session the specified session
+     * @param message the specified message
+     */
+    public static void send(final Session session, final String message) {
+        final SessionQueue queue = QUEUES.get(session);
+        if (null == queue || !session.isOpen()) {
+            return;
+        }
+
+        queue.offer(message);
+    }
+
+    /**
+     * Gets the statistic of all channels.
+     *
+     * @return statistic, for example,      <pre>
+     * {
+     *     "article": {
+     *         "sessionCount": int,
+     *         "queueDepth": long,
+     *         "maxQueueDepth": int,
+     *         "sentCount": long,
+     *         "droppedCount": long,
+     *         "disconnectedCount": long
+     *     },
+     *     "articleList": {....},
+     *     "timeline": {....}
+     * }
+     * </pre>
+     */
+    public static JSONObject getStatistic() {
+        final JSONObject ret = new JSONObject();
+
+        for (final Map.Entry<String, Statistic> entry : STATISTICS.entrySet()) {
+            final Statistic statistic = entry.getValue();
+
+            final JSONObject channel = new JSONObject();
+            channel.put("sessionCount", statistic.sessionCnt.get());
+            channel.put("queueDepth", statistic.depth.get());
+            channel.put("maxQueueDepth", QUEUE_SIZE);
+            channel.put("sentCount", statistic.sentCnt.get());
+            channel.put("droppedCount", statistic.droppedCnt.get());
+            channel.put("disconnectedCount", statistic.disconnectedCnt.get());
+
+            ret.put(entry.getKey(), channel);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Private constructor.
+     */
+    private Outbound() {
+    }
+
+    /**
+     * Channel statistic.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 16, 2026
+     * @since 1.4.0
+     */
+    private static final class Statistic {
+
+        /**
+         * Session count.
+         */
+        private final AtomicInteger sessionCnt = new AtomicInteger();
+
+        /**
+         * Total queue depth.
+         */
+        private final AtomicLong depth = new AtomicLong();
+
+        /**
+         * Sent message count.
+         */
+        private final AtomicLong sentCnt = new AtomicLong();
+
+        /**
+         * Dropped message count.
+         */
+        private final AtomicLong droppedCnt = new AtomicLong();
+
+        /**
+         * Disconnected (slow) session count.
+         */
+        private final AtomicLong disconnectedCnt = new AtomicLong();
+    }
+
+    /**
+     * Bounded outbound queue of a session.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.1, Oct 17, 2026
+     * @since 1.4.0
+     */
+    private static final class SessionQueue implements SendHandler {
+
+        /**
+         * Session.
+         */
+        private final Session session;
+
+        /**
+         * Statistic of the channel.
+         */
+        private final Statistic statistic;
+
+        /**
+         * Messages.
+         */
+        private final Queue<String> messages = new ConcurrentLinkedQueue<String>();
+
+        /**
+         * Message count, including the slots reserved by the offers in progress.
+         */
+        private final AtomicInteger size = new AtomicInteger();
+
+        /**
+         * Whether a message is in flight.
+         */
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        /**
+         * Constructs a queue with the specified session and statistic.
+         *
+         * @param session the specified session
+         * @param statistic the specified statistic
+         */
+        private SessionQueue(final Session session, final Statistic statistic) {
+            this.session = session;
+            this.statistic = statistic;
+        }
+
+        /**
+         * Offers the specified message.
+         *
+         * @param message the specified message
+         */
+        private void offer(final String message) {
+            if (size.incrementAndGet() > QUEUE_SIZE) {
+                if (DISCONNECT) {
+                    size.decrementAndGet();
+                    statistic.disconnectedCnt.incrementAndGet();
+                    close(session);
+
+                    try {
+                        session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Too slow"));
+                    } catch (final IOException e) {
+                        LOGGER.log(Level.WARN, "Closes a slow session failed", e);
+                    }
+
+                    return;
+                }
+
+                statistic.droppedCnt.incrementAndGet();
+
+                if (null == poll()) { // The slots are reserved by the concurrent offers, drops this message
+                    size.decrementAndGet();
+
+                    return;
+                }
+            }
+
+            messages.offer(message);
+            statistic.depth.incrementAndGet();
+
+            sendNext();
+        }
+
+        /**
+         * Polls a message.
+         *
+         * @return message, returns {@code null} if the queue is empty
+         */
+        private String poll() {
+            final String ret = messages.poll();
+            if (null != ret) {
+                size.decrementAndGet();
+                statistic.depth.decrementAndGet();
+            }
+
+            return ret;
+        }
+
+        /**
+         * Sends the next message if no message is in flight.
+         */
+        private void sendNext() {
+            while (sending.compareAndSet(false, true)) {
+                final String message = poll();
+                if (null != message) {
+                    try {
+                        session.getAsyncRemote().sendText(message, this);
+
+                        return;
+                    } catch (final Exception e) {
+                        statistic.droppedCnt.incrementAndGet();
+                        sending.set(false);
+
+                        LOGGER.log(Level.WARN, "Sends message failed", e);
+                    }
+
+                    continue;
+                }
+
+                sending.set(false);
+
+                if (messages.isEmpty()) { // Otherwise a message has been offered just now, sends it
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onResult(final SendResult result) {
+            sending.set(false);
+
+            if (result.isOK()) {
+                statistic.sentCnt.incrementAndGet();
+            } else {
+                LOGGER.log(Level.DEBUG, "Sends message failed", result.getException());
+            }
+
+            if (session.isOpen()) {
+                sendNext();
+            }
+        }
+
+        /**
+         * Clears the pending messages.
+         */
+        private void clear() {
+            while (null != poll()) {
+                // discards
+            }
+
+            statistic.sessionCnt.decrementAndGet();
+        }
+    }
+}
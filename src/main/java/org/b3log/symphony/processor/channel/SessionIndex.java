@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.processor.channel;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.websocket.Session;
+
+/**
+ * Session index &lt;key (for example, article id), sessions&gt;.
+ *
+ * <p>
+ * Lookups and iterations are lock-free, adding/removing a session only locks the session set of the specified key.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+public final class SessionIndex {
+
+    /**
+     * Sessions &lt;key, sessions&gt;.
+     */
+    private final ConcurrentMap<String, Set<Session>> index = new ConcurrentHashMap<String, Set<Session>>();
+
+    /**
+     * Adds the specified session with the specified key.
+     *
+     * @param key the specified key
+     * @param session the specified session
+     */
+    public void add(final String key, final Session session) {
+        while (true) {
+            Set<Session> sessions = index.get(key);
+            if (null == sessions) {
+                sessions = Collections.newSetFromMap(new ConcurrentHashMap<Session, Boolean>());
+                final Set<Session> old = index.putIfAbsent(key, sessions);
+                if (null != old) {
+                    sessions = old;
+                }
+            }
+
+            synchronized (sessions) {
+                if (sessions == index.get(key)) { // Not removed by remove(key, session)
+                    sessions.add(session);
+
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the specified session with the specified key.
+     *
+     * @param key the specified key
+     * @param session the specified session
+     */
+    public void remove(final String key, final Session session) {
+        final Set<Session> sessions = index.get(key);
+        if (null == sessions) {
+            return;
+        }
+
+        synchronized (sessions) {
+            sessions.remove(session);
+
+            if (sessions.isEmpty()) {
+                index.remove(key, sessions);
+            }
+        }
+    }
+
+    /**
+     * Gets sessions by the specified key.
+     *
+     * @param key the specified key
+     * @return sessions (a live view, may be iterated concurrently), returns an empty set if not found
+     */
+    public Set<Session> get(final String key) {
+        final Set<Session> ret = index.get(key);
+        if (null == ret) {
+            return Collections.emptySet();
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the count of keys.
+     *
+     * @return key count
+     */
+    public int size() {
+        return index.size();
+    }
+}
@@ -16,8 +16,8 @@
 package org.b3log.symphony.processor.channel;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.websocket.CloseReason;
 import javax.websocket.OnClose;
 import javax.websocket.OnError;
@@ -32,7 +32,7 @@ import org.json.JSONObject;
  * Timeline channel.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.1.0, Feb 28, 2016
+ * @version 2.1.0.0, Oct 16, 2026
  * @since 1.3.0
  */
 @ServerEndpoint(value = "/timeline-channel", configurator = Channels.WebSocketConfigurator.class)
@@ -46,7 +46,7 @@ public class TimelineChannel {
     /**
      * Session set.
      */
-    public static final Set<Session> SESSIONS = Collections.synchronizedSet(new HashSet<Session>());
+    public static final Set<Session> SESSIONS = Collections.newSetFromMap(new ConcurrentHashMap<Session, Boolean>());
 
     /**
      * Called when the socket connection with the browser is established.
@@ -55,6 +55,7 @@ public class TimelineChannel {
      */
     @OnOpen
     public void onConnect(final Session session) {
+        Outbound.open(Outbound.CHANNEL_TIMELINE, session);
         SESSIONS.add(session);
     }
 
@@ -101,12 +102,8 @@ public class TimelineChannel {
     public static void notifyTimeline(final JSONObject message) {
         final String msgStr = message.toString();
 
-        synchronized (SESSIONS) {
-            for (final Session session : SESSIONS) {
-                if (session.isOpen()) {
-                    session.getAsyncRemote().sendText(msgStr);
-                }
-            }
+        for (final Session session : SESSIONS) {
+            Outbound.send(session, msgStr);
         }
     }
 
@@ -117,5 +114,6 @@ public class TimelineChannel {
      */
     private void removeSession(final Session session) {
         SESSIONS.remove(session);
+        Outbound.close(session);
     }
 }
@@ -15,7 +15,12 @@
  */
 package org.b3log.symphony.repository;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.b3log.latke.Keys;
 import org.b3log.latke.model.Role;
 import org.b3log.latke.model.User;
@@ -35,7 +40,7 @@ import org.json.JSONObject;
  * User repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.3, Jun 20, 2015
+ * @version 1.2.0.3, Oct 16, 2026
  * @since 0.2.0
  */
 @Repository
@@ -90,6 +95,39 @@ public class UserRepository extends AbstractRepository {
         return array.optJSONObject(0);
     }
 
+    /**
+     * Gets users by the specified emails.
+     *
+     * @param emails the specified emails
+     * @return users &lt;email(lower case), user&gt;, returns an empty map if not found
+     * @throws RepositoryException repository exception
+     */
+    public Map<String, JSONObject> getByEmails(final Collection<String> emails) throws RepositoryException {
+        final Map<String, JSONObject> ret = new HashMap<String, JSONObject>();
+
+        final Set<String> emailSet = new HashSet<String>();
+        for (final String email : emails) {
+            emailSet.add(email.toLowerCase().trim());
+        }
+
+        if (emailSet.isEmpty()) {
+            return ret;
+        }
+
+        final Query query = new Query().setPageCount(1).
+                setFilter(new PropertyFilter(User.USER_EMAIL, FilterOperator.IN, emailSet));
+
+        final JSONObject result = get(query);
+        final JSONArray array = result.optJSONArray(Keys.RESULTS);
+        for (int i = 0; i < array.length(); i++) {
+            final JSONObject user = array.optJSONObject(i);
+
+            ret.put(user.optString(User.USER_EMAIL).toLowerCase().trim(), user);
+        }
+
+        return ret;
+    }
+
     /**
      * Gets the administrators.
      *
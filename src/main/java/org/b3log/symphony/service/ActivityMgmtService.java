@@ -19,6 +19,7 @@ import java.net.URL;
 import java.util.Date;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.locks.Lock;
 import javax.inject.Inject;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
@@ -32,10 +33,12 @@ import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.Strings;
+import org.b3log.symphony.cache.ActivityCache;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Pointtransfer;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.util.Results;
+import org.b3log.symphony.util.StripedLocks;
 import org.json.JSONObject;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
@@ -44,7 +47,7 @@ import org.jsoup.nodes.Document;
  * Activity management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.6.0, Dec 17, 2015
+ * @version 1.5.0.3, Oct 17, 2026
  * @since 1.3.0
  */
 @Service
@@ -55,6 +58,11 @@ public class ActivityMgmtService {
      */
     private static final Logger LOGGER = Logger.getLogger(ActivityMgmtService.class.getName());
 
+    /**
+     * Per-user locks, serializes the activities of a user (checks and point transfers) only.
+     */
+    private final StripedLocks userLocks = new StripedLocks(256);
+
     /**
      * Pointtransfer query service.
      */
@@ -97,13 +105,36 @@ public class ActivityMgmtService {
     @Inject
     private TimelineMgmtService timelineMgmtService;
 
+    /**
+     * Activity cache.
+     */
+    @Inject
+    private ActivityCache activityCache;
+
     /**
      * Daily checkin.
      *
      * @param userId the specified user id
      * @return {@code Random int} if checkin succeeded, returns {@code Integer.MIN_VALUE} otherwise
      */
-    public synchronized int dailyCheckin(final String userId) {
+    public int dailyCheckin(final String userId) {
+        final Lock lock = userLocks.get(userId);
+        lock.lock();
+
+        try {
+            return doDailyCheckin(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Daily checkin, invoked under the lock of the user.
+     *
+     * @param userId the specified user id
+     * @return {@code Random int} if checkin succeeded, returns {@code Integer.MIN_VALUE} otherwise
+     */
+    private int doDailyCheckin(final String userId) {
         if (activityQueryService.isCheckedinToday(userId)) {
             return Integer.MIN_VALUE;
         }
@@ -118,6 +149,8 @@ public class ActivityMgmtService {
             return Integer.MIN_VALUE;
         }
 
+        activityCache.markDone(userId, ActivityCache.CHECKIN);
+
         try {
             final JSONObject user = userQueryService.getUser(userId);
 
@@ -215,7 +248,26 @@ public class ActivityMgmtService {
      * @param smallOrLarge the specified small or large
      * @return result
      */
-    public synchronized JSONObject bet1A0001(final String userId, final int amount, final int smallOrLarge) {
+    public JSONObject bet1A0001(final String userId, final int amount, final int smallOrLarge) {
+        final Lock lock = userLocks.get(userId);
+        lock.lock();
+
+        try {
+            return doBet1A0001(userId, amount, smallOrLarge);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bets 1A0001, invoked under the lock of the user.
+     *
+     * @param userId the specified user id
+     * @param amount the specified amount
+     * @param smallOrLarge the specified small or large
+     * @return result
+     */
+    private JSONObject doBet1A0001(final String userId, final int amount, final int smallOrLarge) {
         final JSONObject ret = Results.falseResult();
 
         if (activityQueryService.is1A0001Today(userId)) {
@@ -230,6 +282,9 @@ public class ActivityMgmtService {
                 Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001, amount, date + "-" + smallOrLarge);
 
         ret.put(Keys.STATUS_CODE, succ);
+        if (succ) {
+            activityCache.markDone(userId, ActivityCache.BET_1A0001);
+        }
 
         final String msg = succ
                 ? langPropsService.get("activityBetSuccLabel") : langPropsService.get("activityBetFailLabel");
@@ -261,7 +316,7 @@ public class ActivityMgmtService {
      * @param userId the specified user id
      * @return result
      */
-    public synchronized JSONObject collect1A0001(final String userId) {
+    public JSONObject collect1A0001(final String userId) {
         final JSONObject ret = Results.falseResult();
 
         if (!activityQueryService.is1A0001Today(userId)) {
@@ -276,44 +331,101 @@ public class ActivityMgmtService {
             return ret;
         }
 
-        final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId,
-                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001, 1);
-        final JSONObject pointtransfer = records.get(0);
-        final String data = pointtransfer.optString(Pointtransfer.DATA_ID);
-        final String smallOrLarge = data.split("-")[1];
-        final int sum = pointtransfer.optInt(Pointtransfer.SUM);
-
+        // Fetches the quote before taking the lock, the other users on the same stripe do not wait for it
         String smallOrLargeResult = null;
         try {
-            final Document doc = Jsoup.parse(new URL("http://stockpage.10jqka.com.cn/1A0001/quote/header/"), 5000);
-            final JSONObject result = new JSONObject(doc.text());
-            final String price = result.optJSONObject("data").optJSONObject("1A0001").optString("10");
+            smallOrLargeResult = get1A0001Result();
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Collect 1A0001 failed", e);
+
+            ret.put(Keys.MSG, langPropsService.get("activity1A0001CollectFailLabel"));
+
+            return ret;
+        }
+
+        final Lock lock = userLocks.get(userId);
+        lock.lock();
+
+        try {
+            return doCollect1A0001(userId, smallOrLargeResult);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the 1A0001 result of today.
+     *
+     * @return {@code "0"} for small, {@code "1"} for large, returns {@code null} if the price is unrecognized
+     * @throws Exception if fetches the quote failed
+     */
+    private String get1A0001Result() throws Exception {
+        String ret = null;
+
+        final Document doc = Jsoup.parse(new URL("http://stockpage.10jqka.com.cn/1A0001/quote/header/"), 5000);
+        final JSONObject result = new JSONObject(doc.text());
+        final String price = result.optJSONObject("data").optJSONObject("1A0001").optString("10");
+
+        if (!price.contains(".")) {
+            ret = "0";
+        } else {
+            int endInt = 0;
+            if (price.split("\\.")[1].length() > 1) {
+                final String end = price.substring(price.length() - 1);
+                endInt = Integer.valueOf(end);
+            }
 
-            if (!price.contains(".")) {
-                smallOrLargeResult = "0";
+            if (0 <= endInt && endInt <= 4) {
+                ret = "0";
+            } else if (5 <= endInt && endInt <= 9) {
+                ret = "1";
             } else {
-                int endInt = 0;
-                if (price.split("\\.")[1].length() > 1) {
-                    final String end = price.substring(price.length() - 1);
-                    endInt = Integer.valueOf(end);
-                }
-
-                if (0 <= endInt && endInt <= 4) {
-                    smallOrLargeResult = "0";
-                } else if (5 <= endInt && endInt <= 9) {
-                    smallOrLargeResult = "1";
-                } else {
-                    LOGGER.error("Activity 1A0001 collect result [" + endInt + "]");
-                }
+                LOGGER.error("Activity 1A0001 collect result [" + endInt + "]");
             }
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Collect 1A0001 failed", e);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Collects 1A0001 with the specified result, invoked under the lock of the user.
+     *
+     * <p>
+     * Checks the participation again, the user may have collected since checked without the lock.
+     * </p>
+     *
+     * @param userId the specified user id
+     * @param smallOrLargeResult the specified result, see {@link #get1A0001Result()}
+     * @return result
+     */
+    private JSONObject doCollect1A0001(final String userId, final String smallOrLargeResult) {
+        final JSONObject ret = Results.falseResult();
+
+        if (!activityQueryService.is1A0001Today(userId)) {
+            ret.put(Keys.MSG, langPropsService.get("activityNotParticipatedLabel"));
+
+            return ret;
+        }
+
+        if (activityQueryService.isCollected1A0001Today(userId)) {
+            ret.put(Keys.MSG, langPropsService.get("activityParticipatedLabel"));
 
+            return ret;
+        }
+
+        final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId,
+                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001, 1);
+        if (null == records || records.isEmpty()) {
             ret.put(Keys.MSG, langPropsService.get("activity1A0001CollectFailLabel"));
 
             return ret;
         }
 
+        final JSONObject pointtransfer = records.get(0);
+        final String data = pointtransfer.optString(Pointtransfer.DATA_ID);
+        final String smallOrLarge = data.split("-")[1];
+        final int sum = pointtransfer.optInt(Pointtransfer.SUM);
+
         if (Strings.isEmptyOrNull(smallOrLarge)) {
             ret.put(Keys.MSG, langPropsService.get("activity1A0001CollectFailLabel"));
 
@@ -329,6 +441,8 @@ public class ActivityMgmtService {
                     DateFormatUtils.format(new Date(), "yyyyMMdd") + "-" + smallOrLargeResult);
 
             if (succ) {
+                activityCache.markDone(userId, ActivityCache.COLLECT_1A0001);
+
                 String msg = langPropsService.get("activity1A0001CollectSucc1Label");
                 msg = msg.replace("{point}", String.valueOf(amount));
 
@@ -29,6 +29,7 @@ import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.repository.SortDirection;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.CollectionUtils;
+import org.b3log.symphony.cache.ActivityCache;
 import org.b3log.symphony.model.Pointtransfer;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.repository.UserRepository;
@@ -39,7 +40,7 @@ import org.json.JSONObject;
  * Activity query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.1.0, Sep 16, 2015
+ * @version 1.5.0.2, Oct 17, 2026
  * @since 1.3.0
  */
 @Service
@@ -68,6 +69,12 @@ public class ActivityQueryService {
     @Inject
     private AvatarQueryService avatarQueryService;
 
+    /**
+     * Activity cache.
+     */
+    @Inject
+    private ActivityCache activityCache;
+
     /**
      * Gets the top checkin users with the specified fetch size.
      *
@@ -109,7 +116,7 @@ public class ActivityQueryService {
      * @param userId the specified user id
      * @return {@code true} if checkin succeeded, returns {@code false} otherwise
      */
-    public synchronized boolean isCheckedinToday(final String userId) {
+    public boolean isCheckedinToday(final String userId) {
         final Calendar calendar = Calendar.getInstance();
         final int hour = calendar.get(Calendar.HOUR_OF_DAY);
         if (hour < Symphonys.getInt("activityDailyCheckinTimeMin")
@@ -117,18 +124,7 @@ public class ActivityQueryService {
             return true;
         }
 
-        final Date now = new Date();
-
-        final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId,
-                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_CHECKIN, 1);
-        if (records.isEmpty()) {
-            return false;
-        }
-
-        final JSONObject maybeToday = records.get(0);
-        final long time = maybeToday.optLong(Pointtransfer.TIME);
-
-        return DateUtils.isSameDay(now, new Date(time));
+        return isDoneToday(userId, ActivityCache.CHECKIN, Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_CHECKIN);
     }
 
     /**
@@ -137,19 +133,8 @@ public class ActivityQueryService {
      * @param userId the specified user id
      * @return {@code true} if participated, returns {@code false} otherwise
      */
-    public synchronized boolean is1A0001Today(final String userId) {
-        final Date now = new Date();
-
-        final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId,
-                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001, 1);
-        if (records.isEmpty()) {
-            return false;
-        }
-
-        final JSONObject maybeToday = records.get(0);
-        final long time = maybeToday.optLong(Pointtransfer.TIME);
-
-        return DateUtils.isSameDay(now, new Date(time));
+    public boolean is1A0001Today(final String userId) {
+        return isDoneToday(userId, ActivityCache.BET_1A0001, Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001);
     }
 
     /**
@@ -158,18 +143,44 @@ public class ActivityQueryService {
      * @param userId the specified user id
      * @return {@code true} if collected, returns {@code false} otherwise
      */
-    public synchronized boolean isCollected1A0001Today(final String userId) {
-        final Date now = new Date();
+    public boolean isCollected1A0001Today(final String userId) {
+        return isDoneToday(userId, ActivityCache.COLLECT_1A0001, Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001_COLLECT);
+    }
+
+    /**
+     * Did the specified activity today by a user specified by the given user id?
+     *
+     * <p>
+     * Reads the daily activity state from {@link ActivityCache}, queries the latest pointtransfer of the specified
+     * type only if the state is unknown. If the query failed, the activity is treated as done (it can not be done
+     * twice) and the state stays unknown, so the next call queries again.
+     * </p>
+     *
+     * @param userId the given user id
+     * @param activity the specified activity, see {@link ActivityCache}
+     * @param transferType the specified pointtransfer type of the activity
+     * @return {@code true} if did, returns {@code false} otherwise
+     */
+    boolean isDoneToday(final String userId, final int activity, final int transferType) {
+        final Boolean done = activityCache.isDone(userId, activity);
+        if (null != done) {
+            return done;
+        }
+
+        final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId, transferType, 1);
+        if (null == records) {
+            return true;
+        }
+
+        boolean ret = false;
+        if (!records.isEmpty()) {
+            final long time = records.get(0).optLong(Pointtransfer.TIME);
 
-        final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId,
-                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001_COLLECT, 1);
-        if (records.isEmpty()) {
-            return false;
+            ret = DateUtils.isSameDay(new Date(), new Date(time));
         }
 
-        final JSONObject maybeToday = records.get(0);
-        final long time = maybeToday.optLong(Pointtransfer.TIME);
+        activityCache.load(userId, activity, ret);
 
-        return DateUtils.isSameDay(now, new Date(time));
+        return ret;
     }
 }
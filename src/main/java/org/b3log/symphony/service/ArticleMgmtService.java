@@ -15,10 +15,15 @@
  */
 package org.b3log.symphony.service;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 import javax.inject.Inject;
@@ -32,15 +37,28 @@ import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.Role;
 import org.b3log.latke.model.User;
+import org.b3log.latke.model.Pagination;
+import org.b3log.latke.repository.FilterOperator;
+import org.b3log.latke.repository.PropertyFilter;
+import org.b3log.latke.repository.Query;
 import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.SortDirection;
 import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.util.Connections;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Ids;
 import org.b3log.latke.util.Strings;
+import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.ArticleParticipantCache;
+import org.b3log.symphony.cache.ArticleViewCountBuffer;
+import org.b3log.symphony.cache.ShortLinkCache;
+import org.b3log.symphony.cache.UserNameCache;
 import org.b3log.symphony.event.EventTypes;
 import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Comment;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Follow;
 import org.b3log.symphony.model.Notification;
@@ -50,13 +68,16 @@ import org.b3log.symphony.model.Reward;
 import org.b3log.symphony.model.Tag;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.repository.ArticleRepository;
+import org.b3log.symphony.repository.CommentRepository;
 import org.b3log.symphony.repository.OptionRepository;
 import org.b3log.symphony.repository.TagArticleRepository;
 import org.b3log.symphony.repository.TagRepository;
 import org.b3log.symphony.repository.UserRepository;
 import org.b3log.symphony.repository.UserTagRepository;
 import org.b3log.symphony.util.Emotions;
+import org.b3log.symphony.util.Markdowns;
 import org.b3log.symphony.util.Symphonys;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -64,7 +85,7 @@ import org.json.JSONObject;
  * Article management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.15.12, Feb 16, 2016
+ * @version 1.8.3.1, Oct 17, 2026
  * @since 0.2.0
  */
 @Service
@@ -159,34 +180,490 @@ public class ArticleMgmtService {
     @Inject
     private NotificationMgmtService notificationMgmtService;
 
+    /**
+     * Article cache.
+     */
+    @Inject
+    private ArticleCache articleCache;
+
+    /**
+     * Comment repository.
+     */
+    @Inject
+    private CommentRepository commentRepository;
+
+    /**
+     * Article query service.
+     */
+    @Inject
+    private ArticleQueryService articleQueryService;
+
+    /**
+     * Article participant cache.
+     */
+    @Inject
+    private ArticleParticipantCache articleParticipantCache;
+
+    /**
+     * Article view count buffer.
+     */
+    @Inject
+    private ArticleViewCountBuffer articleViewCountBuffer;
+
+    /**
+     * Username cache.
+     */
+    @Inject
+    private UserNameCache userNameCache;
+
+    /**
+     * Short link cache.
+     */
+    @Inject
+    private ShortLinkCache shortLinkCache;
+
+    /**
+     * Max count of the latest participants kept per article.
+     */
+    private static final int LATEST_PARTICIPANTS_CNT = Symphonys.getInt("articleLatestParticipantsCnt");
+
+    /**
+     * Id of the last article checked by the HTML rendering, {@code null} if all articles have been checked.
+     */
+    private String htmlRenderCursor = "";
+
+    /**
+     * Lock of the HTML rendering.
+     */
+    private final Object htmlRenderLock = new Object();
+
+    /**
+     * Adds the specified comment into the latest participants ring of the specified article.
+     *
+     * <p>
+     * Only the {@link Article#ARTICLE_LATEST_PARTICIPANTS} property of the specified article is changed, the caller
+     * writes the article. Invoked by {@link CommentMgmtService#addComment(org.json.JSONObject)} in its transaction
+     * with the article row read in the same transaction, so the ring is maintained together with the comment count
+     * and no other writer of the article row is involved.
+     * </p>
+     *
+     * @param article the specified article
+     * @param comment the specified comment, for example,      <pre>
+     * {
+     *     "oId": "",
+     *     "commentAuthorEmail": "",
+     *     ....
+     * }
+     * </pre>
+     *
+     * @return new participants ring, ordered by comment id descending
+     */
+    public List<JSONObject> addLatestParticipant(final JSONObject article, final JSONObject comment) {
+        final JSONObject participant = new JSONObject();
+        participant.put(Keys.OBJECT_ID, comment.optString(Keys.OBJECT_ID));
+        participant.put(Comment.COMMENT_AUTHOR_EMAIL, comment.optString(Comment.COMMENT_AUTHOR_EMAIL));
+
+        List<JSONObject> ret = articleQueryService.getLatestParticipants(article);
+        if (null == ret) {
+            ret = new ArrayList<JSONObject>();
+        }
+
+        ret = addParticipant(ret, participant);
+        article.put(Article.ARTICLE_LATEST_PARTICIPANTS, new JSONArray(ret).toString());
+
+        return ret;
+    }
+
+    /**
+     * Generates the latest participants ring for all existing articles.
+     *
+     * <p>
+     * Only the {@link Article#ARTICLE_LATEST_PARTICIPANTS} column is updated, and only if the comment count of the
+     * article has not been changed since it was read. The articles commented meanwhile are skipped (their rings are
+     * maintained by {@link CommentMgmtService#addComment(org.json.JSONObject)}), run it again to backfill them.
+     * </p>
+     *
+     * @throws ServiceException service exception
+     */
+    public void genLatestParticipants() throws ServiceException {
+        final int pageSize = 100;
+        int currentPageNum = 1;
+        int pageCount = 1;
+        int cnt = 0;
+        int skipped = 0;
+
+        try {
+            while (currentPageNum <= pageCount) {
+                final Query query = new Query().setCurrentPageNum(currentPageNum).setPageSize(pageSize).
+                        addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
+                final JSONObject result = articleRepository.get(query);
+                pageCount = result.optJSONObject(Pagination.PAGINATION).optInt(Pagination.PAGINATION_PAGE_COUNT);
+
+                final List<JSONObject> articles = CollectionUtils.<JSONObject>jsonArrayToList(result.optJSONArray(Keys.RESULTS));
+                final List<List<JSONObject>> rings = new ArrayList<List<JSONObject>>();
+                for (final JSONObject article : articles) {
+                    final String articleId = article.optString(Keys.OBJECT_ID);
+
+                    final Query cmtQuery = new Query().addSort(Keys.OBJECT_ID, SortDirection.DESCENDING)
+                            .setFilter(new PropertyFilter(Comment.COMMENT_ON_ARTICLE_ID, FilterOperator.EQUAL, articleId))
+                            .addProjection(Comment.COMMENT_AUTHOR_EMAIL, String.class)
+                            .addProjection(Keys.OBJECT_ID, String.class)
+                            .setPageCount(1).setCurrentPageNum(1).setPageSize(LATEST_PARTICIPANTS_CNT);
+                    rings.add(CollectionUtils.<JSONObject>jsonArrayToList(
+                            commentRepository.get(cmtQuery).optJSONArray(Keys.RESULTS)));
+                }
+
+                final int[] counts = updateLatestParticipants(articles, rings);
+                for (int i = 0; i < counts.length; i++) {
+                    if (0 == counts[i] || Statement.EXECUTE_FAILED == counts[i]) {
+                        skipped++;
+
+                        continue;
+                    }
+
+                    articleParticipantCache.putParticipants(articles.get(i).optString(Keys.OBJECT_ID), rings.get(i));
+                    cnt++;
+                }
+
+                currentPageNum++;
+            }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Generates article latest participants failed", e);
+            throw new ServiceException(e);
+        }
+
+        LOGGER.log(Level.INFO, "Generated latest participants for [{0}] articles, skipped [{1}]",
+                new Object[]{cnt, skipped});
+    }
+
+    /**
+     * Updates the latest participants rings of the specified articles with one batched update.
+     *
+     * @param articles the specified articles
+     * @param rings the specified rings, one for each article
+     * @return update counts, one for each article, {@code 0} if the article has been commented since it was read
+     * @throws ServiceException service exception
+     */
+    private int[] updateLatestParticipants(final List<JSONObject> articles, final List<List<JSONObject>> rings)
+            throws ServiceException {
+        final String sql = "UPDATE " + articleRepository.getName() + " SET " + Article.ARTICLE_LATEST_PARTICIPANTS
+                + " = ? WHERE " + Keys.OBJECT_ID + " = ? AND " + Article.ARTICLE_COMMENT_CNT + " = ?";
+
+        Connection connection = null;
+        PreparedStatement statement = null;
+
+        try {
+            connection = Connections.getConnection();
+            connection.setAutoCommit(false);
+
+            statement = connection.prepareStatement(sql);
+            for (int i = 0; i < articles.size(); i++) {
+                final JSONObject article = articles.get(i);
+
+                statement.setString(1, new JSONArray(rings.get(i)).toString());
+                statement.setString(2, article.optString(Keys.OBJECT_ID));
+                statement.setInt(3, article.optInt(Article.ARTICLE_COMMENT_CNT));
+                statement.addBatch();
+            }
+
+            final int[] ret = statement.executeBatch();
+            connection.commit();
+
+            return ret;
+        } catch (final SQLException e) {
+            if (null != connection) {
+                try {
+                    connection.rollback();
+                } catch (final SQLException ex) {
+                    LOGGER.log(Level.ERROR, "Rollbacks updating article latest participants failed", ex);
+                }
+            }
+
+            LOGGER.log(Level.ERROR, "Updates article latest participants failed", e);
+            throw new ServiceException(e);
+        } finally {
+            try {
+                if (null != statement) {
+                    statement.close();
+                }
+
+                if (null != connection) {
+                    connection.close();
+                }
+            } catch (final SQLException e) {
+                LOGGER.log(Level.ERROR, "Closes connection failed", e);
+            }
+        }
+    }
+
+    /**
+     * Adds the specified participant into the specified participants ring.
+     *
+     * <p>
+     * The ring is kept ordered by comment id descending and limited by {@code articleLatestParticipantsCnt} in
+     * symphony.properties.
+     * </p>
+     *
+     * @param participants the specified participants ring
+     * @param participant the specified participant
+     * @return new participants ring
+     */
+    private static List<JSONObject> addParticipant(final List<JSONObject> participants, final JSONObject participant) {
+        final List<JSONObject> ret = new ArrayList<JSONObject>(participants);
+        final long commentId = participant.optLong(Keys.OBJECT_ID);
+
+        int i = 0;
+        for (; i < ret.size(); i++) {
+            final long id = ret.get(i).optLong(Keys.OBJECT_ID);
+            if (id == commentId) {
+                return ret;
+            }
+
+            if (id < commentId) {
+                break;
+            }
+        }
+
+        ret.add(i, participant);
+
+        while (ret.size() > LATEST_PARTICIPANTS_CNT) {
+            ret.remove(ret.size() - 1);
+        }
+
+        return ret;
+    }
+
     /**
      * Increments the view count of the specified article by the given article id.
      *
+     * <p>
+     * The increment is buffered in memory and will be written by {@link #flushArticleViewCounts()}.
+     * </p>
+     *
      * @param articleId the given article id
      * @throws ServiceException service exception
      */
     public void incArticleViewCount(final String articleId) throws ServiceException {
-        final Transaction transaction = articleRepository.beginTransaction();
+        articleViewCountBuffer.inc(articleId);
+    }
+
+    /**
+     * Flushes the buffered article view count increments with one batched update.
+     *
+     * <p>
+     * If the flush failed, the increments will be put back and retried in the next flush.
+     * </p>
+     */
+    public void flushArticleViewCounts() {
+        flushArticleViewCounts(false);
+    }
+
+    /**
+     * Flushes the buffered article view count increments with one batched update.
+     *
+     * <p>
+     * If the flush failed, the increments will be put back and retried in the next flush, or will be recorded as
+     * dropped if the specified flag is {@code true} (the final flush at shutdown, there is no next flush).
+     * </p>
+     *
+     * @param finalFlush the specified flag, {@code true} for the final flush
+     */
+    public void flushArticleViewCounts(final boolean finalFlush) {
+        final Map<String, Long> deltas = articleViewCountBuffer.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        final long startTime = System.currentTimeMillis();
+        final String sql = "UPDATE " + articleRepository.getName() + " SET " + Article.ARTICLE_VIEW_CNT + " = "
+                + Article.ARTICLE_VIEW_CNT + " + ? WHERE " + Keys.OBJECT_ID + " = ?";
+
+        Connection connection = null;
+        PreparedStatement statement = null;
 
         try {
-            final JSONObject article = articleRepository.get(articleId);
-            if (null == article) {
-                return;
+            connection = Connections.getConnection();
+            connection.setAutoCommit(false);
+
+            final List<String> articleIds = new ArrayList<String>(deltas.keySet());
+
+            statement = connection.prepareStatement(sql);
+            for (final String articleId : articleIds) {
+                statement.setLong(1, deltas.get(articleId));
+                statement.setString(2, articleId);
+                statement.addBatch();
             }
 
-            final int viewCnt = article.optInt(Article.ARTICLE_VIEW_CNT);
-            article.put(Article.ARTICLE_VIEW_CNT, viewCnt + 1);
+            final int[] counts = statement.executeBatch();
+            connection.commit();
 
-            articleRepository.update(articleId, article);
+            long flushed = 0;
+            long dropped = 0;
+            for (int i = 0; i < counts.length; i++) {
+                final long delta = deltas.get(articleIds.get(i));
 
-            transaction.commit();
-        } catch (final RepositoryException e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
+                if (0 == counts[i] || Statement.EXECUTE_FAILED == counts[i]) {
+                    dropped += delta; // The article has been removed
+                } else {
+                    flushed += delta;
+                }
+            }
+
+            articleViewCountBuffer.flushed(startTime, flushed, dropped);
+
+            LOGGER.log(Level.DEBUG, "Flushed article view counts [articles={0}, views={1}, dropped={2}]",
+                    new Object[]{articleIds.size(), flushed, dropped});
+        } catch (final SQLException e) {
+            if (null != connection) {
+                try {
+                    connection.rollback();
+                } catch (final SQLException ex) {
+                    LOGGER.log(Level.ERROR, "Rollbacks flushing article view counts failed", ex);
+                }
+            }
+
+            if (finalFlush) {
+                articleViewCountBuffer.dropped(deltas);
+            } else {
+                articleViewCountBuffer.failed(deltas);
+            }
+
+            LOGGER.log(Level.ERROR, "Flushes article view counts failed [final=" + finalFlush + "]", e);
+        } finally {
+            try {
+                if (null != statement) {
+                    statement.close();
+                }
+
+                if (null != connection) {
+                    connection.close();
+                }
+            } catch (final SQLException e) {
+                LOGGER.log(Level.ERROR, "Closes connection failed", e);
             }
+        }
+    }
+
+    /**
+     * Renders the derived HTML of the next batch of articles whose derived HTML is stale (generated by another
+     * renderer version), in the order of article id.
+     *
+     * <p>
+     * The derived HTML columns of an article are updated only if the article has not been updated since it was read.
+     * Once all articles have been checked, this method does nothing until restart.
+     * </p>
+     *
+     * @param batchSize the specified batch size
+     * @return {@code true} if there are more articles to check, returns {@code false} otherwise
+     * @throws ServiceException service exception
+     */
+    public boolean renderArticlesHTML(final int batchSize) throws ServiceException {
+        synchronized (htmlRenderLock) {
+            if (null == htmlRenderCursor) {
+                return false;
+            }
+
+            final Query query = new Query().setCurrentPageNum(1).setPageSize(batchSize).setPageCount(1)
+                    .setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN, htmlRenderCursor))
+                    .addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
+
+            final List<JSONObject> articles;
+            try {
+                articles = CollectionUtils.<JSONObject>jsonArrayToList(articleRepository.get(query).optJSONArray(Keys.RESULTS));
+            } catch (final RepositoryException e) {
+                LOGGER.log(Level.ERROR, "Gets articles to render HTML failed", e);
+                throw new ServiceException(e);
+            }
+
+            final List<JSONObject> rendered = new ArrayList<JSONObject>();
+            for (final JSONObject article : articles) {
+                if (Markdowns.RENDERER_VERSION.equals(article.optString(Article.ARTICLE_HTML_VERSION))) {
+                    continue;
+                }
+
+                articleQueryService.genArticleHTML(article);
+                if (Markdowns.RENDERER_VERSION.equals(article.optString(Article.ARTICLE_HTML_VERSION))) {
+                    rendered.add(article);
+                }
+            }
+
+            if (!rendered.isEmpty()) {
+                updateArticlesHTML(rendered);
+            }
+
+            if (articles.size() < batchSize) {
+                htmlRenderCursor = null;
+
+                LOGGER.log(Level.INFO, "Checked HTML of all articles [rendererVersion={0}]", Markdowns.RENDERER_VERSION);
+
+                return false;
+            }
+
+            htmlRenderCursor = articles.get(articles.size() - 1).optString(Keys.OBJECT_ID);
 
-            LOGGER.log(Level.ERROR, "Incs an article view count failed", e);
+            return true;
+        }
+    }
+
+    /**
+     * Updates the derived HTML columns of the specified articles with one batched update.
+     *
+     * @param articles the specified articles
+     * @throws ServiceException service exception
+     */
+    private void updateArticlesHTML(final List<JSONObject> articles) throws ServiceException {
+        final String sql = "UPDATE " + articleRepository.getName() + " SET " + Article.ARTICLE_TITLE_HTML + " = ?, "
+                + Article.ARTICLE_CONTENT_HTML + " = ?, " + Article.ARTICLE_REWARD_CONTENT_HTML + " = ?, "
+                + Article.ARTICLE_HTML_VERSION + " = ? WHERE " + Keys.OBJECT_ID + " = ? AND "
+                + Article.ARTICLE_UPDATE_TIME + " = ? AND (" + Article.ARTICLE_HTML_VERSION + " IS NULL OR "
+                + Article.ARTICLE_HTML_VERSION + " <> ?)";
+
+        Connection connection = null;
+        PreparedStatement statement = null;
+
+        try {
+            connection = Connections.getConnection();
+            connection.setAutoCommit(false);
+
+            statement = connection.prepareStatement(sql);
+            for (final JSONObject article : articles) {
+                statement.setString(1, article.optString(Article.ARTICLE_TITLE_HTML));
+                statement.setString(2, article.optString(Article.ARTICLE_CONTENT_HTML));
+                statement.setString(3, article.optString(Article.ARTICLE_REWARD_CONTENT_HTML));
+                statement.setString(4, Markdowns.RENDERER_VERSION);
+                statement.setString(5, article.optString(Keys.OBJECT_ID));
+                statement.setLong(6, article.optLong(Article.ARTICLE_UPDATE_TIME));
+                statement.setString(7, Markdowns.RENDERER_VERSION);
+                statement.addBatch();
+            }
+
+            statement.executeBatch();
+            connection.commit();
+
+            LOGGER.log(Level.DEBUG, "Rendered HTML of [{0}] articles", articles.size());
+        } catch (final SQLException e) {
+            if (null != connection) {
+                try {
+                    connection.rollback();
+                } catch (final SQLException ex) {
+                    LOGGER.log(Level.ERROR, "Rollbacks updating article HTML failed", ex);
+                }
+            }
+
+            LOGGER.log(Level.ERROR, "Updates article HTML failed", e);
             throw new ServiceException(e);
+        } finally {
+            try {
+                if (null != statement) {
+                    statement.close();
+                }
+
+                if (null != connection) {
+                    connection.close();
+                }
+            } catch (final SQLException e) {
+                LOGGER.log(Level.ERROR, "Closes connection failed", e);
+            }
         }
     }
 
@@ -318,6 +795,7 @@ public class ArticleMgmtService {
 
             final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
             article.put(Article.ARTICLE_IP, ip);
+            article.put(Article.ARTICLE_LATEST_PARTICIPANTS, "[]");
 
             final JSONObject articleCntOption = optionRepository.get(Option.ID_C_STATISTIC_ARTICLE_COUNT);
             final int articleCnt = articleCntOption.optInt(Option.OPTION_VALUE);
@@ -348,10 +826,15 @@ public class ArticleMgmtService {
             // Updates user article count (and new tag count), latest article time
             userRepository.update(author.optString(Keys.OBJECT_ID), author);
 
+            articleQueryService.genArticleHTML(article);
+
             final String articleId = articleRepository.add(article);
 
             transaction.commit();
 
+            userNameCache.touch(author.optString(User.USER_NAME), currentTimeMillis);
+            shortLinkCache.removeMissingTagTitles(article.optString(Article.ARTICLE_TAGS)); // Tags may be added
+
             // Grows the tag graph
             tagMgmtService.relateTags(article.optString(Article.ARTICLE_TAGS));
 
@@ -470,10 +953,14 @@ public class ArticleMgmtService {
             final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
             oldArticle.put(Article.ARTICLE_IP, ip);
 
+            articleQueryService.genArticleHTML(oldArticle);
+
             articleRepository.update(articleId, oldArticle);
 
             transaction.commit();
 
+            shortLinkCache.removeMissingTagTitles(oldArticle.optString(Article.ARTICLE_TAGS)); // Tags may be added
+
             if (!fromClient) {
                 if (currentTimeMillis - createTime > 1000 * 60 * 5) {
                     final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
@@ -540,10 +1027,17 @@ public class ArticleMgmtService {
             articleContent = Emotions.toAliases(articleContent);
             article.put(Article.ARTICLE_CONTENT, articleContent);
 
+            articleQueryService.genArticleHTML(article);
+
             userRepository.update(author.optString(Keys.OBJECT_ID), author);
             articleRepository.update(articleId, article);
 
             transaction.commit();
+
+            articleCache.removeContent(articleId);
+            articleCache.removeInvitees(articleId);
+            shortLinkCache.removeArticleTitle(articleId);
+            shortLinkCache.removeMissingTagTitles(article.optString(Article.ARTICLE_TAGS)); // Tags may be added
         } catch (final Exception e) {
             if (transaction.isActive()) {
                 transaction.rollback();
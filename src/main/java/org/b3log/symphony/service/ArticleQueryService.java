@@ -49,6 +49,8 @@ import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Paginator;
 import org.b3log.latke.util.Strings;
+import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.ArticleParticipantCache;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Comment;
 import org.b3log.symphony.model.Common;
@@ -75,7 +77,7 @@ import org.jsoup.safety.Whitelist;
  * Article query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.11.9.15, Feb 19, 2016
+ * @version 1.15.0.0, Oct 17, 2026
  * @since 0.2.0
  */
 @Service
@@ -146,6 +148,18 @@ public class ArticleQueryService {
     @Inject
     private LangPropsService langPropsService;
 
+    /**
+     * Article cache.
+     */
+    @Inject
+    private ArticleCache articleCache;
+
+    /**
+     * Article participant cache.
+     */
+    @Inject
+    private ArticleParticipantCache articleParticipantCache;
+
     /**
      * Count to fetch article tags for relevant articles.
      */
@@ -781,9 +795,8 @@ public class ArticleQueryService {
             organizeArticles(ret);
 
             for (final JSONObject article : ret) {
-                final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
-                final JSONObject author = userRepository.get(authorId);
-                if (UserExt.USER_STATUS_C_INVALID == author.optInt(UserExt.USER_STATUS)) {
+                final JSONObject author = article.optJSONObject(Article.ARTICLE_T_AUTHOR);
+                if (null != author && UserExt.USER_STATUS_C_INVALID == author.optInt(UserExt.USER_STATUS)) {
                     article.put(Article.ARTICLE_TITLE, langPropsService.get("articleTitleBlockLabel"));
                 }
             }
@@ -838,8 +851,11 @@ public class ArticleQueryService {
 
             for (final JSONObject article : ret) {
                 final JSONObject story = new JSONObject();
-                final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
-                final JSONObject author = userRepository.get(authorId);
+                JSONObject author = article.optJSONObject(Article.ARTICLE_T_AUTHOR);
+                if (null == author) {
+                    author = new JSONObject();
+                }
+
                 if (UserExt.USER_STATUS_C_INVALID == author.optInt(UserExt.USER_STATUS)) {
                     story.put("title", langPropsService.get("articleTitleBlockLabel"));
                 } else {
@@ -927,12 +943,36 @@ public class ArticleQueryService {
      * <li>generates time ago text</li>
      * </ul>
      *
+     * <p>
+     * Authors of all the specified articles are loaded with one query.
+     * </p>
+     *
      * @param articles the specified articles
      * @throws RepositoryException repository exception
      */
     public void organizeArticles(final List<JSONObject> articles) throws RepositoryException {
+        final Set<String> authorEmails = new HashSet<String>();
         for (final JSONObject article : articles) {
-            organizeArticle(article);
+            final String authorEmail = article.optString(Article.ARTICLE_AUTHOR_EMAIL);
+            if (!Strings.isEmptyOrNull(authorEmail)) {
+                authorEmails.add(authorEmail);
+            }
+        }
+
+        final Map<String, JSONObject> authors = userRepository.getByEmails(authorEmails);
+
+        final long[] createTimes = new long[articles.size()];
+        int i = 0;
+        for (final JSONObject article : articles) {
+            createTimes[i++] = article.optLong(Article.ARTICLE_CREATE_TIME);
+        }
+        final String[] timeAgos = Times.getTimeAgos(createTimes, Latkes.getLocale());
+
+        i = 0;
+        for (final JSONObject article : articles) {
+            final String authorEmail = article.optString(Article.ARTICLE_AUTHOR_EMAIL).toLowerCase().trim();
+
+            organizeArticle(article, authors.get(authorEmail), timeAgos[i++]);
         }
     }
 
@@ -953,11 +993,34 @@ public class ArticleQueryService {
      * @throws RepositoryException repository exception
      */
     public void organizeArticle(final JSONObject article) throws RepositoryException {
+        final String authorEmail = article.optString(Article.ARTICLE_AUTHOR_EMAIL);
+        JSONObject author = null;
+        if (!Strings.isEmptyOrNull(authorEmail)) {
+            author = userRepository.getByEmail(authorEmail);
+        }
+
+        organizeArticle(article, author, Times.getTimeAgo(article.optLong(Article.ARTICLE_CREATE_TIME), Latkes.getLocale()));
+    }
+
+    /**
+     * Organizes the specified article with the specified author and time ago text.
+     *
+     * @param article the specified article
+     * @param author the specified author, may be {@code null}
+     * @param timeAgo the specified time ago text of the article create time
+     * @see #organizeArticle(org.json.JSONObject)
+     */
+    private void organizeArticle(final JSONObject article, final JSONObject author, final String timeAgo) {
+        article.put(Common.TIME_AGO, timeAgo);
         toArticleDate(article);
-        genArticleAuthor(article);
+        genArticleAuthor(article, author);
 
-        String title = article.optString(Article.ARTICLE_TITLE).replace("<", "&lt;").replace(">", "&gt;");
-        title = Markdowns.clean(title, "");
+        String title;
+        if (Markdowns.RENDERER_VERSION.equals(article.optString(Article.ARTICLE_HTML_VERSION))) {
+            title = article.optString(Article.ARTICLE_TITLE_HTML);
+        } else {
+            title = genTitleHTML(article.optString(Article.ARTICLE_TITLE));
+        }
         article.put(Article.ARTICLE_TITLE, title);
 
         article.put(Article.ARTICLE_T_TITLE_EMOJI, Emotions.convert(title));
@@ -990,8 +1053,6 @@ public class ArticleQueryService {
      * @param article the specified article
      */
     private void toArticleDate(final JSONObject article) {
-        article.put(Common.TIME_AGO, Times.getTimeAgo(article.optLong(Article.ARTICLE_CREATE_TIME), Latkes.getLocale()));
-
         article.put(Article.ARTICLE_CREATE_TIME, new Date(article.optLong(Article.ARTICLE_CREATE_TIME)));
         article.put(Article.ARTICLE_UPDATE_TIME, new Date(article.optLong(Article.ARTICLE_UPDATE_TIME)));
         article.put(Article.ARTICLE_LATEST_CMT_TIME, new Date(article.optLong(Article.ARTICLE_LATEST_CMT_TIME)));
@@ -1001,18 +1062,14 @@ public class ArticleQueryService {
      * Generates the specified article author name and thumbnail URL.
      *
      * @param article the specified article
-     * @throws RepositoryException repository exception
+     * @param author the specified author, may be {@code null}
      */
-    private void genArticleAuthor(final JSONObject article) throws RepositoryException {
-        final String authorEmail = article.optString(Article.ARTICLE_AUTHOR_EMAIL);
-
-        if (Strings.isEmptyOrNull(authorEmail)) {
+    private void genArticleAuthor(final JSONObject article, final JSONObject author) {
+        if (null == author) {
             return;
         }
 
-        final JSONObject author = userRepository.getByEmail(authorEmail);
-
-        article.put(Article.ARTICLE_T_AUTHOR_THUMBNAIL_URL, avatarQueryService.getAvatarURL(authorEmail));
+        article.put(Article.ARTICLE_T_AUTHOR_THUMBNAIL_URL, avatarQueryService.getAvatarURLByUser(author));
         article.put(Article.ARTICLE_T_AUTHOR, author);
 
         article.put(Article.ARTICLE_T_AUTHOR_NAME, author.optString(User.USER_NAME));
@@ -1021,17 +1078,72 @@ public class ArticleQueryService {
     /**
      * Generates participants for the specified articles.
      *
+     * <p>
+     * The latest comments are read from the {@link Article#ARTICLE_LATEST_PARTICIPANTS} ring, an article will be
+     * fallback to query its comments only if its ring is incomplete (for example, not backfilled yet). Commenters of
+     * all the specified articles are loaded with one query.
+     * </p>
+     *
      * @param articles the specified articles
      * @param participantsCnt the specified generate size
      * @throws ServiceException service exception
      */
     private void genParticipants(final List<JSONObject> articles, final Integer participantsCnt) throws ServiceException {
+        final Map<String, List<JSONObject>> articleComments = new HashMap<String, List<JSONObject>>();
+        final Set<String> emails = new HashSet<String>();
+
+        for (final JSONObject article : articles) {
+            final String articleId = article.optString(Keys.OBJECT_ID);
+
+            List<JSONObject> comments = getLatestParticipants(article);
+            final int expectedCnt = Math.min(participantsCnt, article.optInt(Article.ARTICLE_COMMENT_CNT));
+            if (null == comments || comments.size() < expectedCnt) {
+                comments = getArticleLatestComments(articleId, participantsCnt);
+            } else if (comments.size() > participantsCnt) {
+                comments = comments.subList(0, participantsCnt);
+            }
+            articleComments.put(articleId, comments);
+
+            for (final JSONObject comment : comments) {
+                emails.add(comment.optString(Comment.COMMENT_AUTHOR_EMAIL));
+            }
+        }
+
+        Map<String, JSONObject> commenters;
+        try {
+            commenters = userRepository.getByEmails(emails);
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Gets article participants failed", e);
+            throw new ServiceException(e);
+        }
+
         for (final JSONObject article : articles) {
             final String participantName = "";
             final String participantThumbnailURL = "";
 
-            final List<JSONObject> articleParticipants
-                    = getArticleLatestParticipants(article.optString(Keys.OBJECT_ID), participantsCnt);
+            final List<JSONObject> articleParticipants = new ArrayList<JSONObject>();
+            for (final JSONObject comment : articleComments.get(article.optString(Keys.OBJECT_ID))) {
+                final String email = comment.optString(Comment.COMMENT_AUTHOR_EMAIL);
+                final JSONObject commenter = commenters.get(email.toLowerCase().trim());
+                if (null == commenter) {
+                    continue;
+                }
+
+                String thumbnailURL = Symphonys.get("defaultThumbnailURL");
+                if (!UserExt.DEFAULT_CMTER_EMAIL.equals(email)) {
+                    thumbnailURL = avatarQueryService.getAvatarURLByUser(commenter);
+                }
+
+                final JSONObject participant = new JSONObject();
+                participant.put(Article.ARTICLE_T_PARTICIPANT_NAME, commenter.optString(User.USER_NAME));
+                participant.put(Article.ARTICLE_T_PARTICIPANT_THUMBNAIL_URL, thumbnailURL);
+                participant.put(Article.ARTICLE_T_PARTICIPANT_THUMBNAIL_UPDATE_TIME,
+                        commenter.optLong(UserExt.USER_UPDATE_TIME));
+                participant.put(Article.ARTICLE_T_PARTICIPANT_URL, commenter.optString(User.USER_URL));
+                participant.put(Comment.COMMENT_T_ID, comment.optString(Keys.OBJECT_ID));
+
+                articleParticipants.add(participant);
+            }
             article.put(Article.ARTICLE_T_PARTICIPANTS, (Object) articleParticipants);
 
             article.put(Article.ARTICLE_T_PARTICIPANT_NAME, participantName);
@@ -1040,55 +1152,71 @@ public class ArticleQueryService {
     }
 
     /**
-     * Gets the article participants (commenters) with the specified article article id and fetch size.
+     * Gets the latest participants ring of the specified article.
      *
-     * @param articleId the specified article id
+     * @param article the specified article
+     * @return participants (ordered by comment id descending), for example,      <pre>
+     * [
+     *     {
+     *         "oId": "", // comment id
+     *         "commentAuthorEmail": ""
+     *     }, ....
+     * ]
+     * </pre>, returns {@code null} if the article has no ring (not backfilled yet)
+     */
+    public List<JSONObject> getLatestParticipants(final JSONObject article) {
+        final String articleId = article.optString(Keys.OBJECT_ID);
+
+        List<JSONObject> ret = articleParticipantCache.getParticipants(articleId);
+        if (null != ret) {
+            return ret;
+        }
+
+        final Object participants = article.opt(Article.ARTICLE_LATEST_PARTICIPANTS);
+        if (!(participants instanceof String) || Strings.isEmptyOrNull((String) participants)) {
+            return null;
+        }
+
+        try {
+            ret = CollectionUtils.<JSONObject>jsonArrayToList(new JSONArray((String) participants));
+        } catch (final JSONException e) {
+            LOGGER.log(Level.WARN, "Parses article [" + articleId + "] latest participants failed", e);
+
+            return null;
+        }
+
+        articleParticipantCache.putParticipantsIfAbsent(articleId, ret);
+
+        return ret;
+    }
+
+    /**
+     * Gets the latest comments (author email and id only) of an article specified by the given article id and fetch
+     * size.
+     *
+     * @param articleId the given article id
      * @param fetchSize the specified fetch size
-     * @return article participants, for example,      <pre>
+     * @return comments, for example,      <pre>
      * [
      *     {
-     *         "articleParticipantName": "",
-     *         "articleParticipantThumbnailURL": "",
-     *         "articleParticipantThumbnailUpdateTime": long,
-     *         "commentId": ""
+     *         "commentAuthorEmail": "",
+     *         "oId": ""
      *     }, ....
      * ]
      * </pre>, returns an empty list if not found
      *
      * @throws ServiceException service exception
      */
-    private List<JSONObject> getArticleLatestParticipants(final String articleId, final int fetchSize) throws ServiceException {
+    private List<JSONObject> getArticleLatestComments(final String articleId, final int fetchSize) throws ServiceException {
         final Query query = new Query().addSort(Comment.COMMENT_CREATE_TIME, SortDirection.DESCENDING)
                 .setFilter(new PropertyFilter(Comment.COMMENT_ON_ARTICLE_ID, FilterOperator.EQUAL, articleId))
                 .addProjection(Comment.COMMENT_AUTHOR_EMAIL, String.class).addProjection(Keys.OBJECT_ID, String.class)
                 .setPageCount(1).setCurrentPageNum(1).setPageSize(fetchSize);
-        final List<JSONObject> ret = new ArrayList<JSONObject>();
 
         try {
             final JSONObject result = commentRepository.get(query);
-            final List<JSONObject> comments = CollectionUtils.<JSONObject>jsonArrayToList(result.optJSONArray(Keys.RESULTS));
-
-            for (final JSONObject comment : comments) {
-                final String email = comment.optString(Comment.COMMENT_AUTHOR_EMAIL);
-                final JSONObject commenter = userRepository.getByEmail(email);
 
-                String thumbnailURL = Symphonys.get("defaultThumbnailURL");
-                if (!UserExt.DEFAULT_CMTER_EMAIL.equals(email)) {
-                    thumbnailURL = avatarQueryService.getAvatarURL(email);
-                }
-
-                final JSONObject participant = new JSONObject();
-                participant.put(Article.ARTICLE_T_PARTICIPANT_NAME, commenter.optString(User.USER_NAME));
-                participant.put(Article.ARTICLE_T_PARTICIPANT_THUMBNAIL_URL, thumbnailURL);
-                participant.put(Article.ARTICLE_T_PARTICIPANT_THUMBNAIL_UPDATE_TIME,
-                        commenter.optLong(UserExt.USER_UPDATE_TIME));
-                participant.put(Article.ARTICLE_T_PARTICIPANT_URL, commenter.optString(User.USER_URL));
-                participant.put(Comment.COMMENT_T_ID, comment.optString(Keys.OBJECT_ID));
-
-                ret.add(participant);
-            }
-
-            return ret;
+            return CollectionUtils.<JSONObject>jsonArrayToList(result.optJSONArray(Keys.RESULTS));
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Gets article [" + articleId + "] participants failed", e);
             throw new ServiceException(e);
@@ -1107,6 +1235,12 @@ public class ArticleQueryService {
      * <li>Generates article link with article id</li>
      * </ul>
      *
+     * <p>
+     * Uses the derived HTML generated on write (see {@link #genArticleHTML(org.json.JSONObject)}) if its renderer
+     * version is current, otherwise the viewer-independent rendering result is cached by {@link ArticleCache}. The
+     * &#64;username mentions and short links are not stored, they are linked on every read.
+     * </p>
+     *
      * @param article the specified article, for example,      <pre>
      * {
      *     "articleTitle": "",
@@ -1120,6 +1254,14 @@ public class ArticleQueryService {
      */
     public void processArticleContent(final JSONObject article, final HttpServletRequest request)
             throws ServiceException {
+        // The derived HTML is removed from the article, it is only put back as the content if the viewer can view it
+        final boolean htmlValid = article.has(Article.ARTICLE_CONTENT_HTML)
+                && Markdowns.RENDERER_VERSION.equals(article.optString(Article.ARTICLE_HTML_VERSION));
+        final String contentHTML = article.optString(Article.ARTICLE_CONTENT_HTML);
+        final String rewardContentHTML = article.optString(Article.ARTICLE_REWARD_CONTENT_HTML);
+        article.remove(Article.ARTICLE_CONTENT_HTML);
+        article.remove(Article.ARTICLE_REWARD_CONTENT_HTML);
+
         final JSONObject author = article.optJSONObject(Article.ARTICLE_T_AUTHOR);
         if (null != author && UserExt.USER_STATUS_C_INVALID == author.optInt(UserExt.USER_STATUS)
                 || Article.ARTICLE_STATUS_C_INVALID == article.optInt(Article.ARTICLE_STATUS)) {
@@ -1135,13 +1277,14 @@ public class ArticleQueryService {
         String articleContent = article.optString(Article.ARTICLE_CONTENT);
         article.put(Common.DISCUSSION_VIEWABLE, true);
 
-        final Set<String> userNames = userQueryService.getUserNames(articleContent);
         final JSONObject currentUser = userQueryService.getCurrentUser(request);
         final String currentUserName = null == currentUser ? "" : currentUser.optString(User.USER_NAME);
         final String currentRole = null == currentUser ? "" : currentUser.optString(User.USER_ROLE);
         final String authorName = article.optString(Article.ARTICLE_T_AUTHOR_NAME);
         if (Article.ARTICLE_TYPE_C_DISCUSSION == article.optInt(Article.ARTICLE_TYPE)
                 && !authorName.equals(currentUserName) && !Role.ADMIN_ROLE.equals(currentRole)) {
+            final Set<String> userNames = userQueryService.getUserNames(articleContent);
+
             boolean invited = false;
             for (final String userName : userNames) {
                 if (userName.equals(currentUserName)) {
@@ -1166,32 +1309,46 @@ public class ArticleQueryService {
             }
         }
 
-        for (final String userName : userNames) {
-            articleContent = articleContent.replace('@' + userName, "@<a href='" + Latkes.getServePath()
-                    + "/member/" + userName + "'>" + userName + "</a>");
-        }
-
-        articleContent = shortLinkQueryService.linkArticle(articleContent);
-        articleContent = shortLinkQueryService.linkTag(articleContent);
-
-        articleContent = Emotions.convert(articleContent);
-        article.put(Article.ARTICLE_CONTENT, articleContent);
-
-        if (article.optInt(Article.ARTICLE_REWARD_POINT) > 0) {
-            String articleRewardContent = article.optString(Article.ARTICLE_REWARD_CONTENT);
-
-            final Set<String> rewordContentUserNames = userQueryService.getUserNames(articleRewardContent);
+        if (htmlValid) {
+            article.put(Article.ARTICLE_CONTENT, contentHTML);
+            if (article.optInt(Article.ARTICLE_REWARD_POINT) > 0) {
+                article.put(Article.ARTICLE_REWARD_CONTENT, rewardContentHTML);
+            }
+        } else {
+            // The derived HTML is stale, the following rendering is viewer-independent, so its result is cached
+            final String articleId = article.optString(Keys.OBJECT_ID);
+            final long updateTime = getUpdateTime(article);
+            final JSONObject renderedContent = articleCache.getContent(articleId, updateTime);
+            if (null != renderedContent) {
+                article.put(Article.ARTICLE_CONTENT, renderedContent.optString(Article.ARTICLE_CONTENT));
+                if (article.optInt(Article.ARTICLE_REWARD_POINT) > 0) {
+                    article.put(Article.ARTICLE_REWARD_CONTENT,
+                            renderedContent.optString(Article.ARTICLE_REWARD_CONTENT));
+                }
+            } else {
+                renderContent(article);
 
-            for (final String userName : rewordContentUserNames) {
-                articleRewardContent = articleRewardContent.replace('@' + userName, "@<a href='" + Latkes.getServePath()
-                        + "/member/" + userName + "'>" + userName + "</a>");
+                articleCache.putContent(articleId, updateTime, article.optString(Article.ARTICLE_CONTENT),
+                        article.optString(Article.ARTICLE_REWARD_CONTENT));
             }
+        }
+
+        linkContent(article);
+    }
 
-            articleRewardContent = Emotions.convert(articleRewardContent);
-            article.put(Article.ARTICLE_REWARD_CONTENT, articleRewardContent);
+    /**
+     * Gets the update time of the specified article.
+     *
+     * @param article the specified article, the update time may be a {@link Date} (organized) or a long
+     * @return update time
+     */
+    private static long getUpdateTime(final JSONObject article) {
+        final Object updateTime = article.opt(Article.ARTICLE_UPDATE_TIME);
+        if (updateTime instanceof Date) {
+            return ((Date) updateTime).getTime();
         }
 
-        markdown(article);
+        return article.optLong(Article.ARTICLE_UPDATE_TIME);
     }
 
     /**
@@ -1276,6 +1433,79 @@ public class ArticleQueryService {
         return ret;
     }
 
+    /**
+     * Generates the derived HTML (title, content and reward content) of the specified article with the current
+     * renderer version.
+     *
+     * <p>
+     * Invokes this method before persisting an added/updated article, the read paths use the derived HTML directly if
+     * its renderer version is {@link Markdowns#RENDERER_VERSION}.
+     * </p>
+     *
+     * @param article the specified article
+     */
+    public void genArticleHTML(final JSONObject article) {
+        final JSONObject rendered = new JSONObject();
+        for (final String key : new String[]{Article.ARTICLE_CONTENT, Article.ARTICLE_REWARD_CONTENT,
+            Article.ARTICLE_REWARD_POINT, Article.ARTICLE_TYPE, Article.ARTICLE_PERMALINK}) {
+            rendered.put(key, article.opt(key));
+        }
+        renderContent(rendered);
+
+        article.put(Article.ARTICLE_TITLE_HTML, genTitleHTML(article.optString(Article.ARTICLE_TITLE)));
+        article.put(Article.ARTICLE_CONTENT_HTML, rendered.optString(Article.ARTICLE_CONTENT));
+        article.put(Article.ARTICLE_REWARD_CONTENT_HTML, article.optInt(Article.ARTICLE_REWARD_POINT) > 0
+                ? rendered.optString(Article.ARTICLE_REWARD_CONTENT) : "");
+        article.put(Article.ARTICLE_HTML_VERSION, Markdowns.RENDERER_VERSION);
+    }
+
+    /**
+     * Generates the sanitized HTML of the specified article title.
+     *
+     * @param title the specified article title
+     * @return sanitized title
+     */
+    private static String genTitleHTML(final String title) {
+        return Markdowns.clean(title.replace("<", "&lt;").replace(">", "&gt;"), "");
+    }
+
+    /**
+     * Renders the viewer-independent and reference-independent content and reward content of the specified article,
+     * the references are linked on read by {@link #linkContent(org.json.JSONObject)}.
+     *
+     * @param article the specified article
+     */
+    private void renderContent(final JSONObject article) {
+        article.put(Article.ARTICLE_CONTENT, Emotions.convert(article.optString(Article.ARTICLE_CONTENT)));
+
+        if (article.optInt(Article.ARTICLE_REWARD_POINT) > 0) {
+            article.put(Article.ARTICLE_REWARD_CONTENT,
+                    Emotions.convert(article.optString(Article.ARTICLE_REWARD_CONTENT)));
+        }
+
+        markdown(article);
+    }
+
+    /**
+     * Links the references (&#64;username mentions and short links) in the rendered content and reward content of
+     * the specified article.
+     *
+     * @param article the specified article
+     */
+    private void linkContent(final JSONObject article) {
+        String content = shortLinkQueryService.linkHTML(article.optString(Article.ARTICLE_CONTENT), true);
+        if (Article.ARTICLE_TYPE_C_THOUGHT == article.optInt(Article.ARTICLE_TYPE)) {
+            content = content.replace("\n", "\\n").replace("'", "\\'")
+                    .replace("\"", "\\\"");
+        }
+        article.put(Article.ARTICLE_CONTENT, content);
+
+        if (article.optInt(Article.ARTICLE_REWARD_POINT) > 0) {
+            article.put(Article.ARTICLE_REWARD_CONTENT,
+                    shortLinkQueryService.linkHTML(article.optString(Article.ARTICLE_REWARD_CONTENT), false));
+        }
+    }
+
     /**
      * Markdowns the specified article content.
      *
@@ -1301,9 +1531,6 @@ public class ArticleQueryService {
                     Whitelist.relaxed().addAttributes(":all", "id", "target", "class").
                     addTags("span", "hr").addAttributes("iframe", "src", "width", "height")
                     .addAttributes("audio", "controls", "src"), outputSettings);
-
-            content = content.replace("\n", "\\n").replace("'", "\\'")
-                    .replace("\"", "\\\"");
         }
 
         article.put(Article.ARTICLE_CONTENT, content);
@@ -33,7 +33,7 @@ import org.json.JSONObject;
  * User avatar query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.1.2, Feb 16, 2016
+ * @version 1.4.0.2, Oct 16, 2026
  * @since 0.3.0
  */
 @Service
@@ -83,19 +83,8 @@ public class AvatarQueryService {
     public String getAvatarURL(final String email) {
         try {
             final JSONObject user = userRepository.getByEmail(email);
-            if (null == user) {
-                return DEFAULT_AVATAR_URL;
-            }
-
-            final String originalURL = user.optString(UserExt.USER_AVATAR_URL);
-
-            if (Symphonys.getBoolean("qiniu.enabled")) {
-                if (!StringUtils.contains(originalURL, "qnssl.com") && !StringUtils.contains(originalURL, "clouddn.com")) {
-                    return DEFAULT_AVATAR_URL;
-                }
-            }
 
-            return StringUtils.substringBeforeLast(originalURL, "?");
+            return getAvatarURLByUser(user);
         } catch (final RepositoryException e) {
             LOGGER.log(Level.WARN, "Gets user avatar error", e);
 
@@ -103,6 +92,28 @@ public class AvatarQueryService {
         }
     }
 
+    /**
+     * Gets the avatar URL for the specified user.
+     *
+     * @param user the specified user, may be {@code null}
+     * @return the avatar URL
+     */
+    public String getAvatarURLByUser(final JSONObject user) {
+        if (null == user) {
+            return DEFAULT_AVATAR_URL;
+        }
+
+        final String originalURL = user.optString(UserExt.USER_AVATAR_URL);
+
+        if (Symphonys.getBoolean("qiniu.enabled")) {
+            if (!StringUtils.contains(originalURL, "qnssl.com") && !StringUtils.contains(originalURL, "clouddn.com")) {
+                return DEFAULT_AVATAR_URL;
+            }
+        }
+
+        return StringUtils.substringBeforeLast(originalURL, "?");
+    }
+
     /**
      * Creates a avatar image with the specified hash string and size.
      *
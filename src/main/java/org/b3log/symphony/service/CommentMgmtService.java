@@ -15,6 +15,11 @@
  */
 package org.b3log.symphony.service;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import javax.inject.Inject;
 import org.b3log.latke.Keys;
 import org.b3log.latke.event.Event;
@@ -24,12 +29,20 @@ import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.Role;
 import org.b3log.latke.model.User;
+import org.b3log.latke.repository.FilterOperator;
+import org.b3log.latke.repository.PropertyFilter;
+import org.b3log.latke.repository.Query;
 import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.SortDirection;
 import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.util.Connections;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Ids;
+import org.b3log.symphony.cache.ArticleParticipantCache;
+import org.b3log.symphony.cache.UserNameCache;
 import org.b3log.symphony.event.EventTypes;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Comment;
@@ -46,6 +59,7 @@ import org.b3log.symphony.repository.OptionRepository;
 import org.b3log.symphony.repository.TagRepository;
 import org.b3log.symphony.repository.UserRepository;
 import org.b3log.symphony.util.Emotions;
+import org.b3log.symphony.util.Markdowns;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
@@ -53,7 +67,7 @@ import org.json.JSONObject;
  * Comment management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.7.6.16, Feb 16, 2016
+ * @version 1.8.2.0, Oct 17, 2026
  * @since 0.2.0
  */
 @Service
@@ -130,6 +144,154 @@ public class CommentMgmtService {
     @Inject
     private NotificationMgmtService notificationMgmtService;
 
+    /**
+     * Comment query service.
+     */
+    @Inject
+    private CommentQueryService commentQueryService;
+
+    /**
+     * Username cache.
+     */
+    @Inject
+    private UserNameCache userNameCache;
+
+    /**
+     * Article management service.
+     */
+    @Inject
+    private ArticleMgmtService articleMgmtService;
+
+    /**
+     * Article participant cache.
+     */
+    @Inject
+    private ArticleParticipantCache articleParticipantCache;
+
+    /**
+     * Id of the last comment checked by the HTML rendering, {@code null} if all comments have been checked.
+     */
+    private String htmlRenderCursor = "";
+
+    /**
+     * Lock of the HTML rendering.
+     */
+    private final Object htmlRenderLock = new Object();
+
+    /**
+     * Renders the derived HTML of the next batch of comments whose derived HTML is stale (generated by another
+     * renderer version), in the order of comment id.
+     *
+     * <p>
+     * The derived HTML column of a comment is updated only if the comment has not been updated with the current
+     * renderer version since it was read. Once all comments have been checked, this method does nothing until restart.
+     * </p>
+     *
+     * @param batchSize the specified batch size
+     * @return {@code true} if there are more comments to check, returns {@code false} otherwise
+     * @throws ServiceException service exception
+     */
+    public boolean renderCommentsHTML(final int batchSize) throws ServiceException {
+        synchronized (htmlRenderLock) {
+            if (null == htmlRenderCursor) {
+                return false;
+            }
+
+            final Query query = new Query().setCurrentPageNum(1).setPageSize(batchSize).setPageCount(1)
+                    .setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN, htmlRenderCursor))
+                    .addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
+
+            final List<JSONObject> comments;
+            try {
+                comments = CollectionUtils.<JSONObject>jsonArrayToList(commentRepository.get(query).optJSONArray(Keys.RESULTS));
+            } catch (final RepositoryException e) {
+                LOGGER.log(Level.ERROR, "Gets comments to render HTML failed", e);
+                throw new ServiceException(e);
+            }
+
+            final List<JSONObject> rendered = new ArrayList<JSONObject>();
+            for (final JSONObject comment : comments) {
+                if (!Markdowns.RENDERER_VERSION.equals(comment.optString(Comment.COMMENT_HTML_VERSION))) {
+                    commentQueryService.genCommentHTML(comment);
+                    rendered.add(comment);
+                }
+            }
+
+            if (!rendered.isEmpty()) {
+                updateCommentsHTML(rendered);
+            }
+
+            if (comments.size() < batchSize) {
+                htmlRenderCursor = null;
+
+                LOGGER.log(Level.INFO, "Checked HTML of all comments [rendererVersion={0}]", Markdowns.RENDERER_VERSION);
+
+                return false;
+            }
+
+            htmlRenderCursor = comments.get(comments.size() - 1).optString(Keys.OBJECT_ID);
+
+            return true;
+        }
+    }
+
+    /**
+     * Updates the derived HTML column of the specified comments with one batched update.
+     *
+     * @param comments the specified comments
+     * @throws ServiceException service exception
+     */
+    private void updateCommentsHTML(final List<JSONObject> comments) throws ServiceException {
+        final String sql = "UPDATE " + commentRepository.getName() + " SET " + Comment.COMMENT_CONTENT_HTML + " = ?, "
+                + Comment.COMMENT_HTML_VERSION + " = ? WHERE " + Keys.OBJECT_ID + " = ? AND ("
+                + Comment.COMMENT_HTML_VERSION + " IS NULL OR " + Comment.COMMENT_HTML_VERSION + " <> ?)";
+
+        Connection connection = null;
+        PreparedStatement statement = null;
+
+        try {
+            connection = Connections.getConnection();
+            connection.setAutoCommit(false);
+
+            statement = connection.prepareStatement(sql);
+            for (final JSONObject comment : comments) {
+                statement.setString(1, comment.optString(Comment.COMMENT_CONTENT_HTML));
+                statement.setString(2, Markdowns.RENDERER_VERSION);
+                statement.setString(3, comment.optString(Keys.OBJECT_ID));
+                statement.setString(4, Markdowns.RENDERER_VERSION);
+                statement.addBatch();
+            }
+
+            statement.executeBatch();
+            connection.commit();
+
+            LOGGER.log(Level.DEBUG, "Rendered HTML of [{0}] comments", comments.size());
+        } catch (final SQLException e) {
+            if (null != connection) {
+                try {
+                    connection.rollback();
+                } catch (final SQLException ex) {
+                    LOGGER.log(Level.ERROR, "Rollbacks updating comment HTML failed", ex);
+                }
+            }
+
+            LOGGER.log(Level.ERROR, "Updates comment HTML failed", e);
+            throw new ServiceException(e);
+        } finally {
+            try {
+                if (null != statement) {
+                    statement.close();
+                }
+
+                if (null != connection) {
+                    connection.close();
+                }
+            } catch (final SQLException e) {
+                LOGGER.log(Level.ERROR, "Closes connection failed", e);
+            }
+        }
+    }
+
     /**
      * A user specified by the given sender id thanks the author of a comment specified by the given comment id.
      *
@@ -276,6 +438,7 @@ public class CommentMgmtService {
         final Transaction transaction = commentRepository.beginTransaction();
 
         try {
+            article = articleRepository.get(articleId); // Re-reads in the transaction, the whole row is written below
             article.put(Article.ARTICLE_COMMENT_CNT, article.optInt(Article.ARTICLE_COMMENT_CNT) + 1);
             article.put(Article.ARTICLE_LATEST_CMT_TIME, System.currentTimeMillis());
 
@@ -306,11 +469,15 @@ public class CommentMgmtService {
             comment.put(Comment.COMMENT_STATUS, Comment.COMMENT_STATUS_C_VALID);
             comment.put(Comment.COMMENT_IP, ip);
 
+            commentQueryService.genCommentHTML(comment);
+
             final JSONObject cmtCntOption = optionRepository.get(Option.ID_C_STATISTIC_CMT_COUNT);
             final int cmtCnt = cmtCntOption.optInt(Option.OPTION_VALUE);
             cmtCntOption.put(Option.OPTION_VALUE, String.valueOf(cmtCnt + 1));
 
-            articleRepository.update(articleId, article); // Updates article comment count
+            final List<JSONObject> participants = articleMgmtService.addLatestParticipant(article, comment);
+
+            articleRepository.update(articleId, article); // Updates article comment count and latest participants
             optionRepository.update(Option.ID_C_STATISTIC_CMT_COUNT, cmtCntOption); // Updates global comment count
             // Updates tag comment count and User-Tag relation
             final String tagsString = article.optString(Article.ARTICLE_TAGS);
@@ -332,6 +499,9 @@ public class CommentMgmtService {
 
             transaction.commit();
 
+            articleParticipantCache.putParticipants(articleId, participants);
+            userNameCache.touch(commenter.optString(User.USER_NAME), currentTimeMillis);
+
             if (!fromClient) {
                 // Point
                 final String articleAuthorId = article.optString(Article.ARTICLE_AUTHOR_ID);
@@ -383,6 +553,7 @@ public class CommentMgmtService {
             String content = comment.optString(Comment.COMMENT_CONTENT);
             content = Emotions.toAliases(content);
             comment.put(Comment.COMMENT_CONTENT, content);
+            commentQueryService.genCommentHTML(comment);
 
             commentRepository.update(commentId, comment);
 
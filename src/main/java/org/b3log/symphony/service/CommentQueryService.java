@@ -58,7 +58,7 @@ import org.jsoup.safety.Whitelist;
  * Comment management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.4.17, Aug 18, 2015
+ * @version 1.5.0.0, Oct 17, 2026
  * @since 0.2.0
  */
 @Service
@@ -273,6 +273,7 @@ public class CommentQueryService {
 
                     if (null == viewer) {
                         comment.put(Comment.COMMENT_CONTENT, msgContent);
+                        comment.remove(Comment.COMMENT_CONTENT_HTML);
                     } else {
                         final String commenterName = commenter.optString(User.USER_NAME);
                         final String viewerUserName = viewer.optString(User.USER_NAME);
@@ -293,6 +294,7 @@ public class CommentQueryService {
 
                             if (!invited) {
                                 comment.put(Comment.COMMENT_CONTENT, msgContent);
+                                comment.remove(Comment.COMMENT_CONTENT_HTML);
                             }
                         }
                     }
@@ -443,8 +445,16 @@ public class CommentQueryService {
      * @throws RepositoryException repository exception
      */
     private void organizeComments(final List<JSONObject> comments) throws RepositoryException {
+        final long[] createTimes = new long[comments.size()];
+        int i = 0;
         for (final JSONObject comment : comments) {
-            organizeComment(comment);
+            createTimes[i++] = comment.optLong(Comment.COMMENT_CREATE_TIME);
+        }
+        final String[] timeAgos = Times.getTimeAgos(createTimes, Latkes.getLocale());
+
+        i = 0;
+        for (final JSONObject comment : comments) {
+            organizeComment(comment, timeAgos[i++]);
         }
     }
 
@@ -467,7 +477,19 @@ public class CommentQueryService {
      * @throws RepositoryException repository exception
      */
     private void organizeComment(final JSONObject comment) throws RepositoryException {
-        comment.put(Common.TIME_AGO, Times.getTimeAgo(comment.optLong(Comment.COMMENT_CREATE_TIME), Latkes.getLocale()));
+        organizeComment(comment, Times.getTimeAgo(comment.optLong(Comment.COMMENT_CREATE_TIME), Latkes.getLocale()));
+    }
+
+    /**
+     * Organizes the specified comment with the specified time ago text.
+     *
+     * @param comment the specified comment
+     * @param timeAgo the specified time ago text of the comment create time
+     * @throws RepositoryException repository exception
+     * @see #organizeComment(org.json.JSONObject)
+     */
+    private void organizeComment(final JSONObject comment, final String timeAgo) throws RepositoryException {
+        comment.put(Common.TIME_AGO, timeAgo);
         comment.put(Comment.COMMENT_CREATE_TIME, new Date(comment.optLong(Comment.COMMENT_CREATE_TIME)));
 
         final String authorId = comment.optString(Comment.COMMENT_AUTHOR_ID);
@@ -495,6 +517,11 @@ public class CommentQueryService {
      * <li>Generates article link with article id</li>
      * </ul>
      *
+     * <p>
+     * Uses the derived HTML generated on write (see {@link #genCommentHTML(org.json.JSONObject)}) if its renderer
+     * version is current. The &#64;username mentions and short links are not stored, they are linked on every read.
+     * </p>
+     *
      * @param comment the specified comment, for example,      <pre>
      * {
      *     "commentContent": "",
@@ -506,6 +533,11 @@ public class CommentQueryService {
     private void processCommentContent(final JSONObject comment) {
         final JSONObject commenter = comment.optJSONObject(Comment.COMMENT_T_COMMENTER);
 
+        final boolean htmlValid = comment.has(Comment.COMMENT_CONTENT_HTML)
+                && Markdowns.RENDERER_VERSION.equals(comment.optString(Comment.COMMENT_HTML_VERSION));
+        final String contentHTML = comment.optString(Comment.COMMENT_CONTENT_HTML);
+        comment.remove(Comment.COMMENT_CONTENT_HTML);
+
         if (Comment.COMMENT_STATUS_C_INVALID == comment.optInt(Comment.COMMENT_STATUS)
                 || UserExt.USER_STATUS_C_INVALID == commenter.optInt(UserExt.USER_STATUS)) {
             comment.put(Comment.COMMENT_CONTENT, langPropsService.get("commentContentBlockLabel"));
@@ -513,37 +545,47 @@ public class CommentQueryService {
             return;
         }
 
-        genCommentContentUserName(comment);
+        if (htmlValid) {
+            comment.put(Comment.COMMENT_CONTENT, contentHTML);
+        } else {
+            renderContent(comment);
+        }
 
-        String commentContent = comment.optString(Comment.COMMENT_CONTENT);
+        comment.put(Comment.COMMENT_CONTENT,
+                shortLinkQueryService.linkHTML(comment.optString(Comment.COMMENT_CONTENT), true));
+    }
 
-        commentContent = shortLinkQueryService.linkArticle(commentContent);
-        commentContent = shortLinkQueryService.linkTag(commentContent);
-        commentContent = Emotions.convert(commentContent);
-        commentContent = Markdowns.toHTML(commentContent);
-        commentContent = Markdowns.clean(commentContent, "");
+    /**
+     * Generates the derived HTML of the specified comment with the current renderer version.
+     *
+     * <p>
+     * Invokes this method before persisting an added/updated comment, the read paths use the derived HTML directly if
+     * its renderer version is {@link Markdowns#RENDERER_VERSION}.
+     * </p>
+     *
+     * @param comment the specified comment
+     */
+    public void genCommentHTML(final JSONObject comment) {
+        final JSONObject rendered = new JSONObject();
+        rendered.put(Comment.COMMENT_CONTENT, comment.optString(Comment.COMMENT_CONTENT));
+        renderContent(rendered);
 
-        comment.put(Comment.COMMENT_CONTENT, commentContent);
+        comment.put(Comment.COMMENT_CONTENT_HTML, rendered.optString(Comment.COMMENT_CONTENT));
+        comment.put(Comment.COMMENT_HTML_VERSION, Markdowns.RENDERER_VERSION);
     }
 
     /**
-     * Generates &#64;username home URL for the specified comment content.
+     * Renders the viewer-independent and reference-independent content of the specified comment, the references are
+     * linked on read.
      *
      * @param comment the specified comment
      */
-    // XXX: [Performance Issue] genCommentContentUserName
-    private void genCommentContentUserName(final JSONObject comment) {
+    private void renderContent(final JSONObject comment) {
         String commentContent = comment.optString(Comment.COMMENT_CONTENT);
-        try {
-            final Set<String> userNames = userQueryService.getUserNames(commentContent);
-            for (final String userName : userNames) {
-                commentContent = commentContent.replace('@' + userName,
-                        "@<a href='" + Latkes.getServePath()
-                        + "/member/" + userName + "'>" + userName + "</a>");
-            }
-        } catch (final ServiceException e) {
-            LOGGER.log(Level.ERROR, "Generates @username home URL for comment content failed", e);
-        }
+
+        commentContent = Emotions.convert(commentContent);
+        commentContent = Markdowns.toHTML(commentContent);
+        commentContent = Markdowns.clean(commentContent, "");
 
         comment.put(Comment.COMMENT_CONTENT, commentContent);
     }
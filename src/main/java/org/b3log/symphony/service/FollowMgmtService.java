@@ -22,6 +22,7 @@ import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.repository.annotation.Transactional;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.UserNavCache;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Follow;
 import org.b3log.symphony.model.Tag;
@@ -34,7 +35,7 @@ import org.json.JSONObject;
  * Follow management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.0.1, Aug 12, 2015
+ * @version 1.3.0.1, Oct 16, 2026
  * @since 0.2.5
  */
 @Service
@@ -63,6 +64,12 @@ public class FollowMgmtService {
     @Inject
     private ArticleRepository articleRepository;
 
+    /**
+     * User navigation cache.
+     */
+    @Inject
+    private UserNavCache userNavCache;
+
     /**
      * The specified follower follows the specified following tag.
      *
@@ -220,6 +227,8 @@ public class FollowMgmtService {
         follow.put(Follow.FOLLOWING_TYPE, followingType);
 
         followRepository.add(follow);
+
+        userNavCache.addFollowingCnt(followerId, followingType, 1);
     }
 
     /**
@@ -231,7 +240,11 @@ public class FollowMgmtService {
      * @throws RepositoryException repository exception
      */
     public void unfollow(final String followerId, final String followingId, final int followingType) throws RepositoryException {
-        followRepository.removeByFollowerIdAndFollowingId(followerId, followingId);
+        if (followRepository.exists(followerId, followingId)) {
+            followRepository.removeByFollowerIdAndFollowingId(followerId, followingId);
+
+            userNavCache.addFollowingCnt(followerId, followingType, -1);
+        }
 
         if (Follow.FOLLOWING_TYPE_C_TAG == followingType) {
             final JSONObject tag = tagRepository.get(followingId);
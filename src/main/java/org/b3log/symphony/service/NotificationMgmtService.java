@@ -24,6 +24,7 @@ import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.repository.annotation.Transactional;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.UserNavCache;
 import org.b3log.symphony.model.Notification;
 import org.b3log.symphony.repository.NotificationRepository;
 import org.json.JSONObject;
@@ -32,7 +33,7 @@ import org.json.JSONObject;
  * Notification management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.4.0.3, Feb 23, 2016
+ * @version 1.5.0.3, Oct 16, 2026
  * @since 0.2.5
  */
 @Service
@@ -49,6 +50,12 @@ public class NotificationMgmtService {
     @Inject
     private NotificationRepository notificationRepository;
 
+    /**
+     * User navigation cache.
+     */
+    @Inject
+    private UserNavCache userNavCache;
+
     /**
      * Makes the specified notifications have been read.
      *
@@ -79,10 +86,15 @@ public class NotificationMgmtService {
 
         try {
             final JSONObject record = notificationRepository.get(id);
+            if (record.optBoolean(Notification.NOTIFICATION_HAS_READ)) {
+                return;
+            }
 
             record.put(Notification.NOTIFICATION_HAS_READ, true);
 
             notificationRepository.update(id, record);
+
+            userNavCache.addUnreadNotificationCnt(record.optString(Notification.NOTIFICATION_USER_ID), -1);
         } catch (final RepositoryException e) {
             final String msg = "Makes notification as read failed";
             LOGGER.log(Level.ERROR, msg, e);
@@ -427,5 +439,7 @@ public class NotificationMgmtService {
         notification.put(Notification.NOTIFICATION_DATA_TYPE, requestJSONObject.optInt(Notification.NOTIFICATION_DATA_TYPE));
 
         notificationRepository.add(notification);
+
+        userNavCache.addUnreadNotificationCnt(notification.optString(Notification.NOTIFICATION_USER_ID), 1);
     }
 }
@@ -22,6 +22,7 @@ import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.repository.Transaction;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.model.Option;
 import org.b3log.symphony.repository.OptionRepository;
 import org.json.JSONObject;
 
@@ -29,7 +30,7 @@ import org.json.JSONObject;
  * Option management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Apr 9, 2015
+ * @version 1.1.0.0, Oct 16, 2026
  * @since 1.1.0
  */
 @Service
@@ -69,4 +70,37 @@ public class OptionMgmtService {
             throw new ServiceException(e);
         }
     }
+
+    /**
+     * Updates the max online visitor count with the specified count if it is greater than the stored one.
+     *
+     * @param count the specified count
+     * @throws ServiceException service exception
+     */
+    public void updateMaxOnlineVisitorCount(final int count) throws ServiceException {
+        try {
+            final JSONObject option = optionRepository.get(Option.ID_C_STATISTIC_MAX_ONLINE_VISITOR_COUNT);
+            if (count <= option.optInt(Option.OPTION_VALUE)) {
+                return;
+            }
+
+            final Transaction transaction = optionRepository.beginTransaction();
+
+            try {
+                option.put(Option.OPTION_VALUE, String.valueOf(count));
+                optionRepository.update(Option.ID_C_STATISTIC_MAX_ONLINE_VISITOR_COUNT, option);
+
+                transaction.commit();
+            } catch (final RepositoryException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+
+                throw e;
+            }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Updates the max online visitor count failed", e);
+            throw new ServiceException(e);
+        }
+    }
 }
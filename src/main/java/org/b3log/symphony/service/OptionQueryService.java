@@ -25,15 +25,12 @@ import org.b3log.latke.repository.FilterOperator;
 import org.b3log.latke.repository.PropertyFilter;
 import org.b3log.latke.repository.Query;
 import org.b3log.latke.repository.RepositoryException;
-import org.b3log.latke.repository.Transaction;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.symphony.model.Option;
-import org.b3log.symphony.processor.channel.ArticleChannel;
-import org.b3log.symphony.processor.channel.ArticleListChannel;
-import org.b3log.symphony.processor.channel.TimelineChannel;
+import org.b3log.symphony.processor.channel.OnlineVisitors;
 import org.b3log.symphony.repository.OptionRepository;
 import org.json.JSONArray;
 import org.json.JSONObject;
@@ -42,11 +39,11 @@ import org.json.JSONObject;
  * Option query service.
  *
  * <p>
- * <b>Note</b>: The {@link #onlineVisitorCount online visitor counting} is NOT cluster-safe.
+ * <b>Note</b>: The {@link #getOnlineVisitorCount() online visitor counting} is NOT cluster-safe.
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.0.4, Feb 16, 2016
+ * @version 1.3.0.4, Oct 16, 2026
  * @since 0.2.0
  */
 @Service
@@ -72,38 +69,14 @@ public class OptionQueryService {
     /**
      * Gets the online visitor count.
      *
+     * <p>
+     * Reads the snapshot sampled by {@link OnlineVisitors} in background.
+     * </p>
+     *
      * @return online visitor count
      */
     public int getOnlineVisitorCount() {
-        final int ret = ArticleChannel.SESSIONS.size() + ArticleListChannel.SESSIONS.size() + TimelineChannel.SESSIONS.size();
-
-        try {
-            final JSONObject maxOnlineMemberCntRecord = optionRepository.get(Option.ID_C_STATISTIC_MAX_ONLINE_VISITOR_COUNT);
-            final int maxOnlineVisitorCnt = maxOnlineMemberCntRecord.optInt(Option.OPTION_VALUE);
-
-            if (maxOnlineVisitorCnt < ret) {
-                // Updates the max online visitor count
-
-                final Transaction transaction = optionRepository.beginTransaction();
-
-                try {
-                    maxOnlineMemberCntRecord.put(Option.OPTION_VALUE, String.valueOf(ret));
-                    optionRepository.update(maxOnlineMemberCntRecord.optString(Keys.OBJECT_ID), maxOnlineMemberCntRecord);
-
-                    transaction.commit();
-                } catch (final RepositoryException e) {
-                    if (transaction.isActive()) {
-                        transaction.rollback();
-                    }
-
-                    LOGGER.log(Level.ERROR, "Updates the max online visitor count failed", e);
-                }
-            }
-        } catch (final RepositoryException ex) {
-            LOGGER.log(Level.ERROR, "Gets online visitor count failed", ex);
-        }
-
-        return ret;
+        return OnlineVisitors.getCount();
     }
 
     /**
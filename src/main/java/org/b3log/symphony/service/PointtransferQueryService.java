@@ -56,7 +56,7 @@ import org.json.JSONObject;
  * Pointtransfer query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.10.2.1, Mar 8, 2016
+ * @version 1.10.3.1, Oct 17, 2026
  * @since 1.3.0
  */
 @Service
@@ -115,11 +115,9 @@ public class PointtransferQueryService {
      * @param userId the specified user id
      * @param type the specified type
      * @param fetchSize the specified fetch size
-     * @return pointtransfers, returns an empty list if not found
+     * @return pointtransfers, returns an empty list if not found, returns {@code null} if the query failed
      */
     public List<JSONObject> getLatestPointtransfers(final String userId, final int type, final int fetchSize) {
-        final List<JSONObject> ret = new ArrayList<JSONObject>();
-
         final List<Filter> userFilters = new ArrayList<Filter>();
         userFilters.add(new PropertyFilter(Pointtransfer.FROM_ID, FilterOperator.EQUAL, userId));
         userFilters.add(new PropertyFilter(Pointtransfer.TO_ID, FilterOperator.EQUAL, userId));
@@ -137,9 +135,9 @@ public class PointtransferQueryService {
             return CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Gets latest pointtransfers error", e);
-        }
 
-        return ret;
+            return null;
+        }
     }
 
     /**
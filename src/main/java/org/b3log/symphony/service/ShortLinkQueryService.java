@@ -15,6 +15,12 @@
  */
 package org.b3log.symphony.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.inject.Inject;
@@ -27,7 +33,9 @@ import org.b3log.latke.repository.FilterOperator;
 import org.b3log.latke.repository.PropertyFilter;
 import org.b3log.latke.repository.Query;
 import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.ShortLinkCache;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Tag;
 import org.b3log.symphony.repository.ArticleRepository;
@@ -39,7 +47,7 @@ import org.json.JSONObject;
  * Short link query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.3.0, Aug 11, 2015
+ * @version 1.2.0.0, Oct 17, 2026
  * @since 1.3.0
  */
 @Service
@@ -72,75 +80,368 @@ public class ShortLinkQueryService {
     @Inject
     private TagRepository tagRepository;
 
+    /**
+     * Short link cache.
+     */
+    @Inject
+    private ShortLinkCache shortLinkCache;
+
+    /**
+     * User query service.
+     */
+    @Inject
+    private UserQueryService userQueryService;
+
+    /**
+     * Links the references in the text of the specified sanitized HTML: &#64;username mentions and, if specified,
+     * article and tag short links.
+     *
+     * <p>
+     * The derived HTML of articles and comments is stored without references and linked by this method on read, so
+     * renamed users, new tags and edited article titles take effect without rendering it again. The text in tags and
+     * in {@code a}, {@code code} and {@code pre} elements is left as it is.
+     * </p>
+     *
+     * @param html the specified sanitized HTML
+     * @param shortLinks whether links the article and tag short links
+     * @return linked HTML
+     */
+    public String linkHTML(final String html, final boolean shortLinks) {
+        if (html.indexOf('@') < 0 && (!shortLinks || html.indexOf('[') < 0)) {
+            return html;
+        }
+
+        final StringBuilder ret = new StringBuilder(html.length() + 256);
+        final int length = html.length();
+        int skipDepth = 0;
+        int textStart = 0;
+        while (textStart < length) {
+            final int tagStart = html.indexOf('<', textStart);
+            final int textEnd = -1 == tagStart ? length : tagStart;
+
+            final String text = html.substring(textStart, textEnd);
+            ret.append(0 == skipDepth ? linkText(text, shortLinks) : text);
+            if (-1 == tagStart) {
+                break;
+            }
+
+            final int tagEnd = getTagEnd(html, tagStart);
+            if (isSkippedTag(html, tagStart)) {
+                if ('/' == html.charAt(tagStart + 1)) {
+                    skipDepth = Math.max(0, skipDepth - 1);
+                } else {
+                    skipDepth++;
+                }
+            }
+
+            ret.append(html, tagStart, tagEnd);
+            textStart = tagEnd;
+        }
+
+        return ret.toString();
+    }
+
     /**
      * Processes article short link (article id).
      *
+     * <p>
+     * Collects all article ids in one pass, resolves the titles with the short link cache and one query for the
+     * missing ones, then replaces in another pass.
+     * </p>
+     *
      * @param content the specified content
      * @return processed content
      */
     public String linkArticle(final String content) {
+        return linkArticle(content, false);
+    }
+
+    /**
+     * Processes article short link (article id) of the specified markdown content or HTML text.
+     *
+     * @param content the specified content
+     * @param html whether the specified content is HTML text
+     * @return processed content
+     */
+    private String linkArticle(final String content, final boolean html) {
+        final List<int[]> ranges = new ArrayList<int[]>();
+        final Set<String> linkIds = new HashSet<String>();
+
         final Matcher matcher = ID_PATTERN.matcher(content);
-        final StringBuffer contentBuilder = new StringBuffer();
+        while (matcher.find()) {
+            ranges.add(new int[]{matcher.start(), matcher.end()});
+            linkIds.add(content.substring(matcher.start() + 2, matcher.end() - 2));
+        }
+
+        if (ranges.isEmpty()) {
+            return content;
+        }
 
-        try {
-            while (matcher.find()) {
-                final String linkId = StringUtils.substringBetween(matcher.group(), "[", "]");
+        final Map<String, String> titles = new HashMap<String, String>();
+        final List<String> missingIds = new ArrayList<String>();
+        for (final String linkId : linkIds) {
+            final String title = shortLinkCache.getArticleTitle(linkId);
+            if (null == title) {
+                missingIds.add(linkId);
+            } else {
+                titles.put(linkId, title);
+            }
+        }
 
-                final Query query = new Query().addProjection(Article.ARTICLE_TITLE, String.class)
-                        .setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.EQUAL, linkId));
+        if (!missingIds.isEmpty()) {
+            try {
+                final Query query = new Query().setPageCount(1)
+                        .addProjection(Keys.OBJECT_ID, String.class).addProjection(Article.ARTICLE_TITLE, String.class)
+                        .setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, missingIds));
                 final JSONArray results = articleRepository.get(query).optJSONArray(Keys.RESULTS);
-                if (0 == results.length()) {
-                    continue;
+                for (int i = 0; i < results.length(); i++) {
+                    final JSONObject linkArticle = results.optJSONObject(i);
+
+                    titles.put(linkArticle.optString(Keys.OBJECT_ID), linkArticle.optString(Article.ARTICLE_TITLE));
                 }
 
-                final JSONObject linkArticle = results.optJSONObject(0);
+                for (final String linkId : missingIds) {
+                    String title = titles.get(linkId);
+                    if (null == title) {
+                        title = "";
+                        titles.put(linkId, title);
+                    }
 
-                final String linkTitle = linkArticle.optString(Article.ARTICLE_TITLE);
-                final String link = " [" + linkTitle + "](" + Latkes.getServePath() + "/article/" + linkId + ") ";
+                    shortLinkCache.putArticleTitle(linkId, title);
+                }
+            } catch (final RepositoryException e) {
+                LOGGER.log(Level.ERROR, "Generates article link error", e);
+
+                return content;
+            }
+        }
 
-                matcher.appendReplacement(contentBuilder, link);
+        final StringBuilder contentBuilder = new StringBuilder(content.length() + ranges.size() * 64);
+        int last = 0;
+        for (final int[] range : ranges) {
+            final String linkId = content.substring(range[0] + 2, range[1] - 2);
+            final String linkTitle = titles.get(linkId);
+            if (StringUtils.isEmpty(linkTitle)) {
+                continue;
             }
-            matcher.appendTail(contentBuilder);
-        } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Generates article link error", e);
+
+            contentBuilder.append(content, last, range[0]);
+            appendLink(contentBuilder, Latkes.getServePath() + "/article/" + linkId, linkTitle, html);
+            last = range[1];
         }
+        contentBuilder.append(content, last, content.length());
 
         return contentBuilder.toString();
     }
 
     /**
-     * Processes tag short link (tag id).
+     * Processes tag short link (tag title).
+     *
+     * <p>
+     * Collects all tag titles in one pass, resolves the titles with the short link cache and one query for the
+     * missing ones, then replaces in another pass.
+     * </p>
      *
      * @param content the specified content
      * @return processed content
      */
     public String linkTag(final String content) {
+        return linkTag(content, false);
+    }
+
+    /**
+     * Processes tag short link (tag title) of the specified markdown content or HTML text.
+     *
+     * @param content the specified content
+     * @param html whether the specified content is HTML text
+     * @return processed content
+     */
+    private String linkTag(final String content, final boolean html) {
+        final List<int[]> ranges = new ArrayList<int[]>();
+        final Set<String> linkTagTitles = new HashSet<String>();
+
         final Matcher matcher = TAG_TITLE_PATTERN.matcher(content);
-        final StringBuffer contentBuilder = new StringBuffer();
+        while (matcher.find()) {
+            ranges.add(new int[]{matcher.start(), matcher.end()});
+            linkTagTitles.add(content.substring(matcher.start() + 2, matcher.end() - 2));
+        }
+
+        if (ranges.isEmpty()) {
+            return content;
+        }
 
-        try {
-            while (matcher.find()) {
-                final String linkTagTitle = StringUtils.substringBetween(matcher.group(), "[", "]");
+        final Map<String, String> titles = new HashMap<String, String>();
+        final List<String> missingTitles = new ArrayList<String>();
+        for (final String linkTagTitle : linkTagTitles) {
+            final String title = shortLinkCache.getTagTitle(linkTagTitle);
+            if (null == title) {
+                missingTitles.add(linkTagTitle);
+            } else {
+                titles.put(linkTagTitle, title);
+            }
+        }
 
-                final Query query = new Query().addProjection(Tag.TAG_TITLE, String.class)
-                        .setFilter(new PropertyFilter(Tag.TAG_TITLE, FilterOperator.EQUAL, linkTagTitle));
+        if (!missingTitles.isEmpty()) {
+            try {
+                final Query query = new Query().setPageCount(1).addProjection(Tag.TAG_TITLE, String.class)
+                        .setFilter(new PropertyFilter(Tag.TAG_TITLE, FilterOperator.IN, missingTitles));
                 final JSONArray results = tagRepository.get(query).optJSONArray(Keys.RESULTS);
-                if (0 == results.length()) {
-                    continue;
+                final List<String> tagTitles = new ArrayList<String>();
+                for (int i = 0; i < results.length(); i++) {
+                    tagTitles.add(results.optJSONObject(i).optString(Tag.TAG_TITLE));
                 }
 
-                final JSONObject linkTag = results.optJSONObject(0);
+                for (final String linkTagTitle : missingTitles) {
+                    final String title = matchTagTitle(linkTagTitle, tagTitles);
 
-                final String linkTitle = linkTag.optString(Tag.TAG_TITLE);
-                final String link = " [" + linkTitle + "](" + Latkes.getServePath() + "/tags/" + linkTitle + ") ";
+                    titles.put(linkTagTitle, title);
+                    shortLinkCache.putTagTitle(linkTagTitle, title);
+                }
+            } catch (final RepositoryException e) {
+                LOGGER.log(Level.ERROR, "Generates tag link error", e);
 
-                matcher.appendReplacement(contentBuilder, link);
+                return content;
             }
-            matcher.appendTail(contentBuilder);
-        } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Generates tag link error", e);
         }
 
+        final StringBuilder contentBuilder = new StringBuilder(content.length() + ranges.size() * 64);
+        int last = 0;
+        for (final int[] range : ranges) {
+            final String linkTitle = titles.get(content.substring(range[0] + 2, range[1] - 2));
+            if (StringUtils.isEmpty(linkTitle)) {
+                continue;
+            }
+
+            contentBuilder.append(content, last, range[0]);
+            appendLink(contentBuilder, Latkes.getServePath() + "/tags/" + linkTitle, linkTitle, html);
+            last = range[1];
+        }
+        contentBuilder.append(content, last, content.length());
+
         return contentBuilder.toString();
     }
+
+    /**
+     * Links the references in the specified HTML text.
+     *
+     * @param text the specified HTML text
+     * @param shortLinks whether links the article and tag short links
+     * @return linked text
+     */
+    private String linkText(final String text, final boolean shortLinks) {
+        String ret = text;
+
+        if (ret.indexOf('@') >= 0) {
+            try {
+                final Set<String> userNames = userQueryService.getUserNames(ret);
+                for (final String userName : userNames) {
+                    ret = ret.replace('@' + userName, "@<a href=\"" + Latkes.getServePath() + "/member/" + userName
+                            + "\" rel=\"nofollow\">" + userName + "</a>");
+                }
+            } catch (final ServiceException e) {
+                LOGGER.log(Level.ERROR, "Generates @username home URL failed", e);
+            }
+        }
+
+        if (shortLinks && ret.indexOf('[') >= 0) {
+            ret = linkArticle(ret, true);
+            ret = linkTag(ret, true);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Appends a link with the specified URL and title to the specified builder.
+     *
+     * @param builder the specified builder
+     * @param url the specified URL
+     * @param title the specified title
+     * @param html whether appends a HTML link, appends a markdown link if it is {@code false}
+     */
+    private static void appendLink(final StringBuilder builder, final String url, final String title,
+            final boolean html) {
+        if (html) {
+            builder.append(" <a href=\"").append(url).append("\" rel=\"nofollow\">").append(StringUtils.replaceEach(title,
+                    new String[]{"&", "<", ">", "\""}, new String[]{"&amp;", "&lt;", "&gt;", "&quot;"})).append("</a> ");
+        } else {
+            builder.append(" [").append(title).append("](").append(url).append(") ");
+        }
+    }
+
+    /**
+     * Gets the end (exclusive) of the tag starts at the specified index of the specified HTML.
+     *
+     * @param html the specified HTML
+     * @param tagStart the specified index
+     * @return tag end
+     */
+    private static int getTagEnd(final String html, final int tagStart) {
+        char quote = 0;
+        for (int i = tagStart + 1; i < html.length(); i++) {
+            final char c = html.charAt(i);
+            if (0 != quote) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if ('"' == c || '\'' == c) {
+                quote = c;
+            } else if ('>' == c) {
+                return i + 1;
+            }
+        }
+
+        return html.length();
+    }
+
+    /**
+     * Determines whether the tag starts at the specified index of the specified HTML is an {@code a}, {@code code} or
+     * {@code pre} tag, the text in these elements is not linked.
+     *
+     * @param html the specified HTML
+     * @param tagStart the specified index
+     * @return {@code true} if it is, returns {@code false} otherwise
+     */
+    private static boolean isSkippedTag(final String html, final int tagStart) {
+        int start = tagStart + 1;
+        if (start < html.length() && '/' == html.charAt(start)) {
+            start++;
+        }
+
+        int end = start;
+        while (end < html.length() && Character.isLetter(html.charAt(end))) {
+            end++;
+        }
+
+        final String tagName = html.substring(start, end).toLowerCase();
+
+        return "a".equals(tagName) || "code".equals(tagName) || "pre".equals(tagName);
+    }
+
+    /**
+     * Matches the specified tag title in content with the specified queried tag titles.
+     *
+     * <p>
+     * The database may compare titles ignoring case, so prefers the exact one.
+     * </p>
+     *
+     * @param title the specified tag title in content
+     * @param tagTitles the specified queried tag titles
+     * @return matched tag title, returns {@code ""} if not found
+     */
+    private static String matchTagTitle(final String title, final List<String> tagTitles) {
+        String ret = "";
+
+        for (final String tagTitle : tagTitles) {
+            if (tagTitle.equals(title)) {
+                return tagTitle;
+            }
+
+            if (ret.isEmpty() && tagTitle.equalsIgnoreCase(title)) {
+                ret = tagTitle;
+            }
+        }
+
+        return ret;
+    }
 }
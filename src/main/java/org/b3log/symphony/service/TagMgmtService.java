@@ -25,6 +25,9 @@ import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.repository.Transaction;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.FragmentCache;
+import org.b3log.symphony.cache.ShortLinkCache;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Tag;
 import org.b3log.symphony.repository.TagRepository;
@@ -35,7 +38,7 @@ import org.json.JSONObject;
  * Tag management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.0, May 31, 2015
+ * @version 1.2.2.0, Oct 16, 2026
  * @since 1.1.0
  */
 @Service
@@ -58,6 +61,24 @@ public class TagMgmtService {
     @Inject
     private TagTagRepository tagTagRepository;
 
+    /**
+     * Article cache.
+     */
+    @Inject
+    private ArticleCache articleCache;
+
+    /**
+     * Short link cache.
+     */
+    @Inject
+    private ShortLinkCache shortLinkCache;
+
+    /**
+     * Fragment cache.
+     */
+    @Inject
+    private FragmentCache fragmentCache;
+
     /**
      * Updates the specified tag by the given tag id.
      *
@@ -72,6 +93,10 @@ public class TagMgmtService {
             tagRepository.update(tagId, tag);
 
             transaction.commit();
+
+            articleCache.clear(); // Tag links in the rendered content may be changed
+            shortLinkCache.clearTagTitles(); // The title may be changed
+            fragmentCache.remove(FragmentCache.TREND_TAGS, FragmentCache.NEW_TAGS, FragmentCache.SIDE_TAGS);
         } catch (final RepositoryException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -15,9 +15,12 @@
  */
 package org.b3log.symphony.service;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.model.Common;
 import org.b3log.symphony.processor.channel.TimelineChannel;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
@@ -25,17 +28,34 @@ import org.json.JSONObject;
 /**
  * Timeline management service.
  *
+ * <p>
+ * Timelines are kept in a fixed-capacity (configured by {@code timelineCnt} in symphony.properties) lock-free ring
+ * buffer. Every timeline is stamped with a monotonically increasing {@link Common#SEQUENCE sequence} and stored
+ * serialized, so it can't be modified after added, readers get fresh objects. Clients may catch up with
+ * {@link #getTimelines(long)}.
+ * </p>
+ *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Aug 21, 2015
+ * @version 2.0.1.0, Oct 17, 2026
  * @since 1.3.0
  */
 @Service
 public class TimelineMgmtService {
 
     /**
-     * Timelines.
+     * Capacity.
+     */
+    private static final int CAPACITY = Symphonys.getInt("timelineCnt");
+
+    /**
+     * Timelines, the timeline with sequence {@code n} is placed at {@code n % CAPACITY}.
      */
-    private LinkedList<JSONObject> timelines = new LinkedList<JSONObject>();
+    private final AtomicReferenceArray<Entry> timelines = new AtomicReferenceArray<Entry>(CAPACITY);
+
+    /**
+     * Sequence of the latest timeline.
+     */
+    private final AtomicLong sequence = new AtomicLong();
 
     /**
      * Adds the specified timeline.
@@ -43,23 +63,85 @@ public class TimelineMgmtService {
      * @param timeline the specified timeline
      */
     public void addTimeline(final JSONObject timeline) {
-        TimelineChannel.notifyTimeline(timeline);
+        final long seq = sequence.incrementAndGet();
 
-        timelines.addFirst(timeline);
+        final JSONObject entry = new JSONObject(timeline, JSONObject.getNames(timeline));
+        entry.put(Common.SEQUENCE, seq);
 
-        final int maxCnt = Symphonys.getInt("timelineCnt");
+        timelines.set((int) (seq % CAPACITY), new Entry(seq, entry.toString()));
 
-        if (timelines.size() > maxCnt) {
-            timelines.remove(maxCnt);
-        }
+        TimelineChannel.notifyTimeline(entry);
     }
 
     /**
      * Gets timelines.
      *
-     * @return timelines
+     * @return timelines, newest first
      */
     public List<JSONObject> getTimelines() {
-        return timelines;
+        return getTimelines(0);
+    }
+
+    /**
+     * Gets timelines added after the specified sequence.
+     *
+     * @param since the specified sequence
+     * @return timelines, newest first, returns an empty list if not found
+     */
+    public List<JSONObject> getTimelines(final long since) {
+        final List<JSONObject> ret = new ArrayList<JSONObject>();
+
+        final long latest = sequence.get();
+        final long oldest = Math.max(since + 1, latest - CAPACITY + 1);
+        for (long seq = latest; seq >= oldest && seq > 0; seq--) {
+            final Entry entry = timelines.get((int) (seq % CAPACITY));
+            if (null == entry || seq != entry.seq) {
+                continue; // Not set yet or overwritten
+            }
+
+            ret.add(new JSONObject(entry.json));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the sequence of the latest timeline.
+     *
+     * @return sequence, returns {@code 0} if no timeline
+     */
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Timeline entry of the ring buffer.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 17, 2026
+     * @since 1.4.0
+     */
+    private static final class Entry {
+
+        /**
+         * Sequence.
+         */
+        private final long seq;
+
+        /**
+         * Timeline JSON string.
+         */
+        private final String json;
+
+        /**
+         * Constructs an entry with the specified sequence and timeline JSON string.
+         *
+         * @param seq the specified sequence
+         * @param json the specified timeline JSON string
+         */
+        private Entry(final long seq, final String json) {
+            this.seq = seq;
+            this.json = json;
+        }
     }
 }
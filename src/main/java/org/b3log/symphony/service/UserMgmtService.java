@@ -59,6 +59,8 @@ import org.b3log.latke.util.Ids;
 import org.b3log.latke.util.MD5;
 import org.b3log.latke.util.Requests;
 import org.b3log.latke.util.Strings;
+import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.UserNameCache;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Comment;
 import org.b3log.symphony.model.Common;
@@ -82,7 +84,7 @@ import org.json.JSONObject;
  * User management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.10.11.7, Mar 8, 2016
+ * @version 1.12.0.7, Oct 16, 2026
  * @since 0.2.0
  */
 @Service
@@ -147,6 +149,18 @@ public class UserMgmtService {
     @Inject
     private AvatarQueryService avatarQueryService;
 
+    /**
+     * Article cache.
+     */
+    @Inject
+    private ArticleCache articleCache;
+
+    /**
+     * Username cache.
+     */
+    @Inject
+    private UserNameCache userNameCache;
+
     /**
      * Tries to login with cookie.
      *
@@ -254,6 +268,8 @@ public class UserMgmtService {
             userRepository.update(userId, user);
 
             transaction.commit();
+
+            userNameCache.touch(user.optString(User.USER_NAME), user.optLong(UserExt.USER_LATEST_LOGIN_TIME));
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Updates user online status failed", e);
 
@@ -315,6 +331,8 @@ public class UserMgmtService {
             userRepository.update(oldUserId, oldUser);
 
             transaction.commit();
+
+            userNameCache.put(oldUser); // The avatar may be changed
         } catch (final RepositoryException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -622,6 +640,8 @@ public class UserMgmtService {
 
             transaction.commit();
 
+            userNameCache.put(user);
+
             if (UserExt.USER_STATUS_C_VALID == status) {
                 // Point
                 pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, ret,
@@ -649,9 +669,15 @@ public class UserMgmtService {
         final Transaction transaction = userRepository.beginTransaction();
 
         try {
+            final JSONObject user = userRepository.get(userId);
+
             userRepository.remove(userId);
 
             transaction.commit();
+
+            if (null != user) {
+                removeUserName(user.optString(User.USER_NAME));
+            }
         } catch (final RepositoryException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -756,10 +782,19 @@ public class UserMgmtService {
                 throw new ServiceException(langPropsService.get("duplicatedUserNameLabel") + " [" + newUserName + "]");
             }
 
+            final JSONObject oldUser = userRepository.get(userId);
+
             // Update the user
             userRepository.update(userId, user);
 
             transaction.commit();
+
+            if (null != oldUser) {
+                removeUserName(oldUser.optString(User.USER_NAME));
+            }
+            userNameCache.put(user);
+
+            articleCache.clear(); // @username links in the rendered content may be changed
         } catch (final RepositoryException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -793,9 +828,11 @@ public class UserMgmtService {
                 final JSONObject user = users.optJSONObject(i);
                 final String id = user.optString(Keys.OBJECT_ID);
 
+                final String userName = user.optString(User.USER_NAME);
                 user.put(User.USER_NAME, UserExt.NULL_USER_NAME);
 
                 userRepository.update(id, user);
+                removeUserName(userName);
 
                 LOGGER.log(Level.INFO, "Reset unverified user [email=" + user.optString(User.USER_EMAIL));
             }
@@ -804,6 +841,24 @@ public class UserMgmtService {
         }
     }
 
+    /**
+     * Removes the specified username from the username cache if no user holds it any more.
+     *
+     * <p>
+     * Unverified users may hold the same username, so checks the database before removing.
+     * </p>
+     *
+     * @param userName the specified username
+     * @throws RepositoryException repository exception
+     */
+    private void removeUserName(final String userName) throws RepositoryException {
+        if (UserExt.NULL_USER_NAME.equals(userName) || null != userRepository.getByName(userName)) {
+            return;
+        }
+
+        userNameCache.remove(userName);
+    }
+
     /**
      * Formats the specified user tags.
      *
@@ -18,9 +18,6 @@ package org.b3log.symphony.service;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -44,7 +41,9 @@ import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.repository.SortDirection;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Paginator;
+import org.b3log.symphony.cache.UserNameCache;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.processor.advice.validate.UserRegisterValidation;
@@ -57,7 +56,7 @@ import org.json.JSONObject;
  * User query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.3.5, Dec 29, 2015
+ * @version 1.8.0.6, Oct 17, 2026
  * @since 0.2.0
  */
 @Service
@@ -81,58 +80,83 @@ public class UserQueryService {
     private AvatarQueryService avatarQueryService;
 
     /**
-     * All usernames.
+     * Username cache.
      */
-    private List<JSONObject> userNames = Collections.synchronizedList(new ArrayList<JSONObject>());
+    @Inject
+    private UserNameCache userNameCache;
 
     /**
-     * Loads all usernames from database.
+     * Max count of the usernames to autocomplete.
      */
-    public void loadUserNames() {
-        userNames.clear();
+    private static final int USER_NAMES_PREFIX_CNT = 5;
 
-        final Query query = new Query().setPageCount(1);
-        query.setFilter(new PropertyFilter(User.USER_NAME, FilterOperator.NOT_EQUAL, UserExt.NULL_USER_NAME));
-        query.addProjection(User.USER_NAME, String.class);
-        query.addProjection(UserExt.USER_AVATAR_URL, String.class);
+    /**
+     * Size of a page of users to load usernames.
+     */
+    private static final int USER_NAMES_LOAD_PAGE_SIZE = 1000;
 
-        try {
-            final JSONObject result = userRepository.get(query); // XXX: Performance Issue
-            final JSONArray array = result.optJSONArray(Keys.RESULTS);
-            for (int i = 0; i < array.length(); i++) {
-                final JSONObject user = array.optJSONObject(i);
+    /**
+     * Loads all usernames from database into the username cache.
+     *
+     * <p>
+     * Streams users in pages ordered by id, so the users are never materialized at once. The username cache is kept
+     * current by {@link UserMgmtService}, invokes this method only to bootstrap or rebuild it.
+     * </p>
+     */
+    public void loadUserNames() {
+        if (!userNameCache.startLoad()) {
+            LOGGER.log(Level.WARN, "Usernames are being loaded");
 
-                final JSONObject u = new JSONObject();
-                u.put(User.USER_NAME, user.optString(User.USER_NAME));
+            return;
+        }
 
-                String avatar = user.optString(UserExt.USER_AVATAR_URL);
-                if (StringUtils.isBlank(avatar)) {
-                    avatar = AvatarQueryService.DEFAULT_AVATAR_URL;
+        final long start = System.currentTimeMillis();
+        String cursor = "";
+        int count = 0;
+
+        try {
+            while (true) {
+                final Query query = new Query().setCurrentPageNum(1).setPageSize(USER_NAMES_LOAD_PAGE_SIZE).setPageCount(1)
+                        .setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN, cursor))
+                        .addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
+                query.addProjection(Keys.OBJECT_ID, String.class);
+                query.addProjection(User.USER_NAME, String.class);
+                query.addProjection(UserExt.USER_AVATAR_URL, String.class);
+                query.addProjection(UserExt.USER_LATEST_LOGIN_TIME, Long.class);
+                query.addProjection(UserExt.USER_LATEST_ARTICLE_TIME, Long.class);
+                query.addProjection(UserExt.USER_LATEST_CMT_TIME, Long.class);
+
+                final List<JSONObject> users
+                        = CollectionUtils.<JSONObject>jsonArrayToList(userRepository.get(query).optJSONArray(Keys.RESULTS));
+                userNameCache.loadPage(users);
+                count += users.size();
+
+                if (users.size() < USER_NAMES_LOAD_PAGE_SIZE) {
+                    break;
                 }
-                u.put(UserExt.USER_AVATAR_URL, avatar);
 
-                userNames.add(u);
+                cursor = users.get(users.size() - 1).optString(Keys.OBJECT_ID);
             }
 
-            Collections.sort(userNames, new Comparator<JSONObject>() {
-                @Override
-                public int compare(final JSONObject u1, final JSONObject u2) {
-                    final String u1Name = u1.optString(User.USER_NAME);
-                    final String u2Name = u2.optString(User.USER_NAME);
+            userNameCache.endLoad();
+
+            final JSONObject stat = userNameCache.getStatistic();
+            LOGGER.log(Level.INFO, "Loaded usernames [users={0}, usernames={1}, elapsed={2}ms, "
+                    + "estimatedHeapSize={3}KB, estimatedHeapSizePerUser={4}B]", new Object[]{count,
+                        stat.optInt("count"), System.currentTimeMillis() - start,
+                        stat.optLong("estimatedHeapSize") / 1024, stat.optLong("estimatedHeapSizePerUser")});
+        } catch (final Exception e) {
+            userNameCache.cancelLoad();
 
-                    return u2Name.compareToIgnoreCase(u1Name);
-                }
-            });
-        } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Loads usernames error", e);
         }
     }
 
     /**
-     * Gets usernames by the specified name prefix.
+     * Gets usernames by the specified name prefix, ignoring case.
      *
      * @param namePrefix the specified name prefix
-     * @return a list of usernames, for example      <pre>
+     * @return a list of usernames, the most recently active users first, for example      <pre>
      * [
      *     {
      *         "userName": "",
@@ -142,30 +166,11 @@ public class UserQueryService {
      * </pre>
      */
     public List<JSONObject> getUserNamesByPrefix(final String namePrefix) {
-        final List<JSONObject> ret = new ArrayList<JSONObject>();
-
-        final JSONObject nameToSearch = new JSONObject();
-        nameToSearch.put(User.USER_NAME, namePrefix);
-
-        final int index = Collections.binarySearch(userNames, nameToSearch, new Comparator<JSONObject>() {
-            @Override
-            public int compare(final JSONObject u1, final JSONObject u2) {
-                final String u1Name = u1.optString(User.USER_NAME).toLowerCase();
-                final String inputName = u2.optString(User.USER_NAME).toLowerCase();
+        final List<JSONObject> ret = userNameCache.getByPrefix(namePrefix, USER_NAMES_PREFIX_CNT);
 
-                if (u1Name.startsWith(inputName)) {
-                    return 0;
-                } else {
-                    return namePrefix.compareTo(u1Name);
-                }
-            }
-        });
-        
-        if (index >= 0) {
-            final int max = index + 5 <= userNames.size() - 1 ? index + 5 : userNames.size() - 1;
-
-            for (int i = index; i < max; i++) {
-                ret.add(userNames.get(i));
+        for (final JSONObject userName : ret) {
+            if (StringUtils.isBlank(userName.optString(UserExt.USER_AVATAR_URL))) {
+                userName.put(UserExt.USER_AVATAR_URL, AvatarQueryService.DEFAULT_AVATAR_URL);
             }
         }
 
@@ -254,6 +259,10 @@ public class UserQueryService {
      * 88250 and Vanessa.
      * </p>
      *
+     * <p>
+     * Scans the text once and looks up the user name cache, no database queries once the cache loaded.
+     * </p>
+     *
      * @param text the specified text
      * @return user names, returns an empty set if not found
      * @throws ServiceException service exception
@@ -261,53 +270,86 @@ public class UserQueryService {
     public Set<String> getUserNames(final String text) throws ServiceException {
         final Set<String> ret = new HashSet<String>();
 
+        final int length = text.length();
         int idx = text.indexOf('@');
+        while (-1 != idx) {
+            final int start = idx + 1;
+            int end = start;
+            while (end < length && isUserNameChar(text.charAt(end))) {
+                end++;
+            }
 
-        if (-1 == idx) {
-            return ret;
-        }
+            if (end > start && (end == length || isUserNameEnd(text.charAt(end)))) {
+                final String maybeUserName = text.substring(start, end);
 
-        String copy = text.trim();
-        copy = copy.replaceAll("\\n", " ");
-        copy = copy.replaceAll("(?=\\pP)[^@]", " ");
-        String[] uNames = StringUtils.substringsBetween(copy, "@", " ");
-        String tail = StringUtils.substringAfterLast(copy, "@");
+                if (!ret.contains(maybeUserName) && !UserRegisterValidation.invalidUserName(maybeUserName)
+                        && existsUserName(maybeUserName)) {
+                    ret.add(maybeUserName);
+                }
+            }
 
-        if (tail.contains(" ")) {
-            tail = null;
+            idx = text.indexOf('@', end);
         }
 
-        if (null != tail) {
-            if (null == uNames) {
-                uNames = new String[1];
-                uNames[0] = tail;
-            } else {
-                uNames = Arrays.copyOf(uNames, uNames.length + 1);
-                uNames[uNames.length - 1] = tail;
-            }
-        }
+        return ret;
+    }
 
-        if (null == uNames) {
-            return ret;
+    /**
+     * Determines whether the specified user name exists.
+     *
+     * <p>
+     * Looks up the user name cache, falls back to query database if the cache has not been loaded yet.
+     * </p>
+     *
+     * @param userName the specified user name
+     * @return {@code true} if it exists, returns {@code false} otherwise
+     * @throws ServiceException service exception
+     */
+    private boolean existsUserName(final String userName) throws ServiceException {
+        if (userNameCache.isLoaded()) {
+            return userNameCache.contains(userName);
         }
 
-        for (int i = 0; i < uNames.length; i++) {
-            final String maybeUserName = uNames[i];
+        return null != getUserByName(userName);
+    }
 
-            if (!UserRegisterValidation.invalidUserName(maybeUserName)) { // A string match the user name pattern
-                if (null != getUserByName(maybeUserName)) { // Found a user
-                    ret.add(maybeUserName);
+    /**
+     * Determines whether the specified character may be a part of a user name.
+     *
+     * @param c the specified character
+     * @return {@code true} if it may be, returns {@code false} otherwise
+     */
+    private static boolean isUserNameChar(final char c) {
+        return ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z') || ('0' <= c && c <= '9');
+    }
 
-                    copy = copy.replace("@" + maybeUserName, "");
-                    idx = copy.indexOf('@');
-                    if (-1 == idx) {
-                        return ret;
-                    }
-                }
-            }
+    /**
+     * Determines whether the specified character ends a user name, a blank or a punctuation except &#64;.
+     *
+     * @param c the specified character
+     * @return {@code true} if it ends a user name, returns {@code false} otherwise
+     */
+    private static boolean isUserNameEnd(final char c) {
+        if ('@' == c) {
+            return false;
         }
 
-        return ret;
+        if (Character.isWhitespace(c)) {
+            return true;
+        }
+
+        switch (Character.getType(c)) {
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
     }
 
     /**
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.util;
+
+import org.commonmark.html.HtmlRenderer;
+import org.commonmark.parser.Parser;
+
+/**
+ * <a href="http://commonmark.org/">CommonMark</a> engine, uses
+ * <a href="https://github.com/atlassian/commonmark-java">commonmark-java</a>.
+ *
+ * <p>
+ * The parser and the renderer are built once and shared by all threads.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+final class CommonMarkEngine implements MarkdownEngine {
+
+    /**
+     * Parser.
+     */
+    private static final Parser PARSER = Parser.builder().build();
+
+    /**
+     * Renderer.
+     */
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder().build();
+
+    @Override
+    public void render(final String markdownText, final Appendable out) throws Exception {
+        RENDERER.render(PARSER.parse(markdownText), out);
+    }
+}
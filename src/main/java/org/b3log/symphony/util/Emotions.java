@@ -15,14 +15,19 @@
  */
 package org.b3log.symphony.util;
 
-import com.vdurmont.emoji.EmojiParser;
+import com.vdurmont.emoji.Emoji;
+import com.vdurmont.emoji.EmojiManager;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
 import org.b3log.latke.Latkes;
 
 /**
  * Emotions utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.0, Jun 7, 2015
+ * @version 1.3.0.0, Oct 16, 2026
  * @since 0.2.0
  */
 public final class Emotions {
@@ -924,14 +929,67 @@ public final class Emotions {
         "zzz"
     };
 
+    /**
+     * Emoji code ranks &lt;code, index in {@link #EMOJIS}&gt;.
+     */
+    private static final Map<String, Integer> EMOJI_RANKS = new HashMap<String, Integer>();
+
+    /**
+     * Max length of the emoji codes.
+     */
+    private static final int EMOJI_MAX_LEN;
+
+    static {
+        int maxLen = 0;
+        for (int i = 0; i < EMOJIS.length; i++) {
+            final String emojiCode = EMOJIS[i];
+            if (!EMOJI_RANKS.containsKey(emojiCode)) {
+                EMOJI_RANKS.put(emojiCode, i);
+            }
+
+            maxLen = Math.max(maxLen, emojiCode.length());
+        }
+        EMOJI_MAX_LEN = maxLen;
+    }
+
+    /**
+     * Token: emotion, {@literal [em00]} - {@literal [em14]}.
+     */
+    private static final int TOKEN_EMOTION = 1;
+
+    /**
+     * Token: emotion with any number, {@literal [em\d+]}.
+     */
+    private static final int TOKEN_EMOTION_ANY = 1 << 1;
+
+    /**
+     * Token: emoji code, {@literal :heart:}.
+     */
+    private static final int TOKEN_EMOJI = 1 << 2;
+
+    /**
+     * Token: unicode emoji, "😄".
+     */
+    private static final int TOKEN_UNICODE = 1 << 3;
+
     /**
      * Replaces the emoji's unicode occurrences by one of their alias (between 2 ':'). Example: "😄" gives ":smile:".
      *
+     * <p>
+     * The longest unicode emoji matched at a position wins, for example, a flag is replaced by its alias instead of
+     * the aliases of its regional indicators.
+     * </p>
+     *
      * @param content the string to parse
      * @return the string with the emojis replaced by their alias.
      */
     public static String toAliases(final String content) {
-        return EmojiParser.parseToAliases(content);
+        return scan(content, new TokenWriter(TOKEN_UNICODE) {
+            @Override
+            void unicode(final StringBuilder out, final String unicode, final String alias) {
+                out.append(':').append(alias).append(':');
+            }
+        });
     }
 
     /**
@@ -941,13 +999,19 @@ public final class Emotions {
      * @return cleared content
      */
     public static String clear(final String content) {
-        String ret = content.replaceAll("\\[em\\d+]", "");
-        for (final String emojiCode : EMOJIS) {
-            final String emoji = ":" + emojiCode + ":";
-            ret = ret.replace(emoji, "");
+        if (content.indexOf(':') < 0 && content.indexOf('[') < 0) {
+            return content;
         }
 
-        return ret;
+        return scan(content, new TokenWriter(TOKEN_EMOTION_ANY | TOKEN_EMOJI) {
+            @Override
+            void emotion(final StringBuilder out, final String emotionName) {
+            }
+
+            @Override
+            void emoji(final StringBuilder out, final String emojiCode) {
+            }
+        });
     }
 
     /**
@@ -962,28 +1026,337 @@ public final class Emotions {
      * @return converted content
      */
     public static String convert(final String content) {
-        String ret = content;
-
-        String emotionName;
-        for (int i = 0; i < EMOTION_CNT; i++) {
-            if (i < TEN) {
-                emotionName = "em0" + i;
-            } else {
-                emotionName = "em" + i;
+        if (content.indexOf(':') < 0 && content.indexOf('[') < 0) {
+            return content;
+        }
+
+        final String staticServePath = Latkes.getStaticServePath();
+
+        return scan(content, new TokenWriter(TOKEN_EMOTION | TOKEN_EMOJI) {
+            @Override
+            void emotion(final StringBuilder out, final String emotionName) {
+                out.append("<img src='").append(staticServePath).append("/images/emotions/ease/")
+                        .append(emotionName).append(".png' />");
+            }
+
+            @Override
+            void emoji(final StringBuilder out, final String emojiCode) {
+                out.append("<img align=\"absmiddle\" alt=\":").append(emojiCode)
+                        .append(":\" class=\"emoji\" src=\"").append(staticServePath)
+                        .append("/js/lib/emojify.js-1.0.2/images/basic/").append(emojiCode)
+                        .append(".png\" title=\":").append(emojiCode).append(":\"></img>");
             }
+        });
+    }
+
+    /**
+     * Scans the specified content in one pass, writes the tokens accepted by the specified writer with it and copies
+     * the others.
+     *
+     * <p>
+     * Emoji codes may share a colon (for example, {@literal :smile:heart:}), such a chain is resolved as replacing the
+     * codes one by one in the order of {@link #EMOJIS}: a code with a lower rank wins the shared colon, the same codes
+     * are matched from left to right.
+     * </p>
+     *
+     * @param content the specified content
+     * @param writer the specified writer
+     * @return scanned content
+     */
+    private static String scan(final String content, final TokenWriter writer) {
+        final int length = content.length();
+        final StringBuilder ret = new StringBuilder(length + (length >> 1));
+
+        final boolean emotions = 0 != (writer.tokens & (TOKEN_EMOTION | TOKEN_EMOTION_ANY));
+        final boolean emojis = 0 != (writer.tokens & TOKEN_EMOJI);
+        final boolean unicodes = 0 != (writer.tokens & TOKEN_UNICODE);
+
+        int[] colons = new int[4];
+        int[] ranks = new int[4];
+
+        int i = 0;
+        while (i < length) {
+            final char c = content.charAt(i);
+
+            if (emotions && '[' == c) {
+                final int end = emotionEnd(content, i, 0 != (writer.tokens & TOKEN_EMOTION_ANY));
+                if (-1 != end) {
+                    writer.emotion(ret, content.substring(i + 1, end - 1));
+                    i = end;
+
+                    continue;
+                }
+            } else if (emojis && ':' == c) {
+                // Collects the chain of emoji codes separated by colons
+                int cnt = 0;
+                int colon = i;
+                while (true) {
+                    final int next = nextColon(content, colon);
+                    if (-1 == next) {
+                        break;
+                    }
+
+                    final Integer rank = EMOJI_RANKS.get(content.substring(colon + 1, next));
+                    if (null == rank) {
+                        break;
+                    }
+
+                    if (cnt + 1 == colons.length) {
+                        colons = Arrays.copyOf(colons, colons.length << 1);
+                        ranks = Arrays.copyOf(ranks, ranks.length << 1);
+                    }
+
+                    colons[cnt] = colon;
+                    ranks[cnt] = rank;
+                    cnt++;
+                    colon = next;
+                }
+
+                if (0 < cnt) {
+                    colons[cnt] = colon;
+                    writeEmojis(content, colons, ranks, cnt, ret, writer);
+                    i = colon + 1;
+
+                    continue;
+                }
+            } else if (unicodes && UnicodeEmojis.FIRST_CHARS.get(c)) {
+                final int end = unicodeEnd(content, i);
+                if (-1 != end) {
+                    final String unicode = content.substring(i, end);
+                    writer.unicode(ret, unicode, UnicodeEmojis.ALIASES.get(unicode));
+                    i = end;
 
-            ret = ret.replace('[' + emotionName + ']',
-                    "<img src='" + Latkes.getStaticServePath() + "/images/emotions/ease/" + emotionName + ".png" + "' />");
+                    continue;
+                }
+            }
+
+            ret.append(c);
+            i++;
+        }
+
+        return ret.toString();
+    }
+
+    /**
+     * Writes a chain of emoji codes.
+     *
+     * @param content the specified content
+     * @param colons the positions of the colons in the chain, {@code cnt + 1} ones
+     * @param ranks the ranks of the codes in the chain, {@code cnt} ones
+     * @param cnt the count of the codes in the chain
+     * @param out the specified output
+     * @param writer the specified writer
+     */
+    private static void writeEmojis(final String content, final int[] colons, final int[] ranks, final int cnt,
+            final StringBuilder out, final TokenWriter writer) {
+        if (1 == cnt) {
+            writer.emoji(out, content.substring(colons[0] + 1, colons[1]));
+
+            return;
+        }
+
+        final long[] order = new long[cnt];
+        for (int i = 0; i < cnt; i++) {
+            order[i] = ((long) ranks[i] << Integer.SIZE) | i;
         }
+        Arrays.sort(order);
 
-        for (final String emojiCode : EMOJIS) {
-            final String emoji = ":" + emojiCode + ":";
-            ret = ret.replace(emoji, "<img align=\"absmiddle\" alt=\"" + emoji + "\" class=\"emoji\" src=\""
-                    + Latkes.getStaticServePath() + "/js/lib/emojify.js-1.0.2/images/basic/" + emojiCode
-                    + ".png\" title=\"" + emoji + "\"></img>");
+        final boolean[] consumed = new boolean[cnt + 1];
+        final boolean[] matched = new boolean[cnt];
+        for (final long o : order) {
+            final int i = (int) o;
+            if (!consumed[i] && !consumed[i + 1]) {
+                consumed[i] = true;
+                consumed[i + 1] = true;
+                matched[i] = true;
+            }
         }
 
-        return ret;
+        for (int i = 0; i < cnt; i++) {
+            final String emojiCode = content.substring(colons[i] + 1, colons[i + 1]);
+            if (matched[i]) {
+                writer.emoji(out, emojiCode);
+
+                continue;
+            }
+
+            if (!consumed[i]) {
+                out.append(':');
+            }
+            out.append(emojiCode);
+        }
+
+        if (!consumed[cnt]) {
+            out.append(':');
+        }
+    }
+
+    /**
+     * Gets the end of the emotion ({@literal [em00]}) at the specified position of the specified content.
+     *
+     * @param content the specified content
+     * @param pos the specified position
+     * @param anyNumber whether accepts any number ({@literal [em\d+]}) or not ({@literal [em00]} - {@literal [em14]})
+     * @return end position (exclusive), returns {@code -1} if not found
+     */
+    private static int emotionEnd(final String content, final int pos, final boolean anyNumber) {
+        if (!content.startsWith("em", pos + 1)) {
+            return -1;
+        }
+
+        final int length = content.length();
+        final int start = pos + 3;
+        int i = start;
+        while (i < length && content.charAt(i) >= '0' && content.charAt(i) <= '9') {
+            i++;
+        }
+
+        if (start == i || i == length || ']' != content.charAt(i)) {
+            return -1;
+        }
+
+        if (!anyNumber
+                && (2 != i - start || (content.charAt(start) - '0') * TEN + content.charAt(start + 1) - '0' >= EMOTION_CNT)) {
+            return -1;
+        }
+
+        return i + 1;
+    }
+
+    /**
+     * Gets the position of the colon closing a possible emoji code opened by the colon at the specified position.
+     *
+     * @param content the specified content
+     * @param colon the specified position
+     * @return position of the closing colon, returns {@code -1} if not found
+     */
+    private static int nextColon(final String content, final int colon) {
+        final int end = Math.min(content.length(), colon + EMOJI_MAX_LEN + 2);
+        for (int i = colon + 2; i < end; i++) {
+            if (':' == content.charAt(i)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Gets the end of the longest unicode emoji at the specified position of the specified content.
+     *
+     * @param content the specified content
+     * @param pos the specified position
+     * @return end position (exclusive), returns {@code -1} if not found
+     */
+    private static int unicodeEnd(final String content, final int pos) {
+        for (int i = Math.min(content.length(), pos + UnicodeEmojis.MAX_LEN); i > pos; i--) {
+            if (UnicodeEmojis.ALIASES.containsKey(content.substring(pos, i))) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Token writer, copies the tokens by default.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.1.0.0, Oct 16, 2026
+     * @since 1.4.0
+     */
+    private abstract static class TokenWriter {
+
+        /**
+         * Tokens to scan, for example, {@code TOKEN_EMOTION | TOKEN_EMOJI}.
+         */
+        private final int tokens;
+
+        /**
+         * Constructs a token writer with the specified tokens to scan.
+         *
+         * @param tokens the specified tokens
+         */
+        TokenWriter(final int tokens) {
+            this.tokens = tokens;
+        }
+
+        /**
+         * Writes the specified emotion.
+         *
+         * @param out the specified output
+         * @param emotionName the specified emotion name, for example, "em00"
+         */
+        void emotion(final StringBuilder out, final String emotionName) {
+            out.append('[').append(emotionName).append(']');
+        }
+
+        /**
+         * Writes the specified emoji.
+         *
+         * @param out the specified output
+         * @param emojiCode the specified emoji code, for example, "heart"
+         */
+        void emoji(final StringBuilder out, final String emojiCode) {
+            out.append(':').append(emojiCode).append(':');
+        }
+
+        /**
+         * Writes the specified unicode emoji.
+         *
+         * @param out the specified output
+         * @param unicode the specified unicode emoji, for example, "😄"
+         * @param alias the specified alias, for example, "smile"
+         */
+        void unicode(final StringBuilder out, final String unicode, final String alias) {
+            out.append(unicode);
+        }
+    }
+
+    /**
+     * Unicode emojis of emoji-java, loaded on the first use.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 16, 2026
+     * @since 1.4.0
+     */
+    private static final class UnicodeEmojis {
+
+        /**
+         * Aliases &lt;unicode, alias&gt;.
+         */
+        private static final Map<String, String> ALIASES = new HashMap<String, String>();
+
+        /**
+         * First chars of the unicode emojis.
+         */
+        private static final BitSet FIRST_CHARS = new BitSet(Character.MAX_VALUE + 1);
+
+        /**
+         * Max length of the unicode emojis.
+         */
+        private static final int MAX_LEN;
+
+        static {
+            int maxLen = 0;
+            for (final Emoji emoji : EmojiManager.getAll()) {
+                final String unicode = emoji.getUnicode();
+                if (ALIASES.containsKey(unicode)) {
+                    continue;
+                }
+
+                ALIASES.put(unicode, emoji.getAliases().get(0));
+                FIRST_CHARS.set(unicode.charAt(0));
+                maxLen = Math.max(maxLen, unicode.length());
+            }
+            MAX_LEN = maxLen;
+        }
+
+        /**
+         * Private constructor.
+         */
+        private UnicodeEmojis() {
+        }
     }
 
     /**
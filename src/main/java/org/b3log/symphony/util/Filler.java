@@ -16,8 +16,10 @@
 package org.b3log.symphony.util;
 
 import org.b3log.symphony.service.AvatarQueryService;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
@@ -32,11 +34,14 @@ import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.symphony.SymphonyServletListener;
+import org.b3log.symphony.cache.FragmentCache;
+import org.b3log.symphony.cache.UserNavCache;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.Follow;
 import org.b3log.symphony.model.Notification;
 import org.b3log.symphony.model.Option;
 import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.processor.channel.OnlineVisitors;
 import org.b3log.symphony.service.ActivityMgmtService;
 import org.b3log.symphony.service.ActivityQueryService;
 import org.b3log.symphony.service.ArticleQueryService;
@@ -51,8 +56,14 @@ import org.json.JSONObject;
 /**
  * Filler utilities.
  *
+ * <p>
+ * The viewer-independent blocks (trend tags, side tags, hot/random articles, statistic, etc) are served from
+ * {@link FragmentCache}, the online visitor count is read from the snapshot of {@link OnlineVisitors} and the personal
+ * navigation counters are read from {@link UserNavCache}.
+ * </p>
+ *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.1.10, Feb 16, 2016
+ * @version 1.7.1.10, Oct 16, 2026
  * @since 0.2.0
  */
 @Service
@@ -63,6 +74,11 @@ public class Filler {
      */
     private static final Logger LOGGER = Logger.getLogger(Filler.class.getName());
 
+    /**
+     * Size factor of the cached pools the random blocks (random articles, side tags) picked from.
+     */
+    private static final int RANDOM_POOL_FACTOR = 5;
+
     /**
      * Language service.
      */
@@ -129,6 +145,18 @@ public class Filler {
     @Inject
     private ActivityMgmtService activityMgmtService;
 
+    /**
+     * Fragment cache.
+     */
+    @Inject
+    private FragmentCache fragmentCache;
+
+    /**
+     * User navigation cache.
+     */
+    @Inject
+    private UserNavCache userNavCache;
+
     /**
      * Fills relevant articles.
      *
@@ -158,8 +186,17 @@ public class Filler {
      * @param dataModel the specified data model
      * @throws Exception exception
      */
+    @SuppressWarnings("unchecked")
     public void fillRandomArticles(final Map<String, Object> dataModel) throws Exception {
-        dataModel.put(Common.SIDE_RANDOM_ARTICLES, articleQueryService.getRandomArticles(Symphonys.getInt("sideRandomArticlesCnt")));
+        final int fetchSize = Symphonys.getInt("sideRandomArticlesCnt");
+
+        List<JSONObject> articles = (List<JSONObject>) fragmentCache.get(FragmentCache.RANDOM_ARTICLES);
+        if (null == articles) {
+            articles = articleQueryService.getRandomArticles(fetchSize * RANDOM_POOL_FACTOR);
+            fragmentCache.put(FragmentCache.RANDOM_ARTICLES, articles);
+        }
+
+        dataModel.put(Common.SIDE_RANDOM_ARTICLES, pick(articles, fetchSize));
     }
 
     /**
@@ -169,7 +206,13 @@ public class Filler {
      * @throws Exception exception
      */
     public void fillHotArticles(final Map<String, Object> dataModel) throws Exception {
-        dataModel.put(Common.SIDE_HOT_ARTICLES, articleQueryService.getHotArticles(Symphonys.getInt("sideHotArticlesCnt")));
+        Object articles = fragmentCache.get(FragmentCache.HOT_ARTICLES);
+        if (null == articles) {
+            articles = articleQueryService.getHotArticles(Symphonys.getInt("sideHotArticlesCnt"));
+            fragmentCache.put(FragmentCache.HOT_ARTICLES, articles);
+        }
+
+        dataModel.put(Common.SIDE_HOT_ARTICLES, articles);
     }
 
     /**
@@ -178,8 +221,17 @@ public class Filler {
      * @param dataModel the specified data model
      * @throws Exception exception
      */
+    @SuppressWarnings("unchecked")
     public void fillSideTags(final Map<String, Object> dataModel) throws Exception {
-        dataModel.put(Common.SIDE_TAGS, tagQueryService.getTags(Symphonys.getInt("sideTagsCnt")));
+        final int fetchSize = Symphonys.getInt("sideTagsCnt");
+
+        List<JSONObject> tags = (List<JSONObject>) fragmentCache.get(FragmentCache.SIDE_TAGS);
+        if (null == tags) {
+            tags = tagQueryService.getTags(fetchSize * RANDOM_POOL_FACTOR);
+            fragmentCache.put(FragmentCache.SIDE_TAGS, tags);
+        }
+
+        dataModel.put(Common.SIDE_TAGS, pick(tags, fetchSize));
         fillNewTags(dataModel);
     }
 
@@ -277,14 +329,11 @@ public class Filler {
         avatarQueryService.fillUserAvatarURL(curUser);
 
         final String userId = curUser.optString(Keys.OBJECT_ID);
+        final UserNavCache.Counters counters = getNavCounters(userId);
 
-        final long followingArticleCnt = followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_ARTICLE);
-        final long followingTagCnt = followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_TAG);
-        final long followingUserCnt = followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_USER);
-
-        curUser.put(Common.FOLLOWING_ARTICLE_CNT, followingArticleCnt);
-        curUser.put(Common.FOLLOWING_TAG_CNT, followingTagCnt);
-        curUser.put(Common.FOLLOWING_USER_CNT, followingUserCnt);
+        curUser.put(Common.FOLLOWING_ARTICLE_CNT, counters.getFollowingArticleCnt());
+        curUser.put(Common.FOLLOWING_TAG_CNT, counters.getFollowingTagCnt());
+        curUser.put(Common.FOLLOWING_USER_CNT, counters.getFollowingUserCnt());
         final int point = curUser.optInt(UserExt.USER_POINT);
         final int appRole = curUser.optInt(UserExt.USER_APP_ROLE);
         if (UserExt.USER_APP_ROLE_C_HACKER == appRole) {
@@ -295,12 +344,33 @@ public class Filler {
 
         dataModel.put(Common.CURRENT_USER, curUser);
 
-        final int unreadNotificationCount = notificationQueryService.getUnreadNotificationCount(curUser.optString(Keys.OBJECT_ID));
-        dataModel.put(Notification.NOTIFICATION_T_UNREAD_COUNT, unreadNotificationCount);
+        dataModel.put(Notification.NOTIFICATION_T_UNREAD_COUNT, counters.getUnreadNotificationCnt());
 
         dataModel.put(Common.IS_DAILY_CHECKIN, activityQueryService.isCheckedinToday(userId));
     }
 
+    /**
+     * Gets the navigation counters of a user specified by the given user id.
+     *
+     * @param userId the given user id
+     * @return navigation counters, loads and caches them if not cached
+     */
+    private UserNavCache.Counters getNavCounters(final String userId) {
+        UserNavCache.Counters ret = userNavCache.get(userId);
+        if (null != ret) {
+            return ret;
+        }
+
+        ret = new UserNavCache.Counters(
+                (int) followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_ARTICLE),
+                (int) followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_TAG),
+                (int) followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_USER),
+                notificationQueryService.getUnreadNotificationCount(userId));
+        userNavCache.put(userId, ret);
+
+        return ret;
+    }
+
     /**
      * Fills minified directory and file postfix for static JavaScript, CSS.
      *
@@ -335,7 +405,13 @@ public class Filler {
      * @throws Exception exception
      */
     private void fillTrendTags(final Map<String, Object> dataModel) throws Exception {
-        dataModel.put(Common.NAV_TREND_TAGS, tagQueryService.getTrendTags(Symphonys.getInt("trendTagsCnt")));
+        Object tags = fragmentCache.get(FragmentCache.TREND_TAGS);
+        if (null == tags) {
+            tags = tagQueryService.getTrendTags(Symphonys.getInt("trendTagsCnt"));
+            fragmentCache.put(FragmentCache.TREND_TAGS, tags);
+        }
+
+        dataModel.put(Common.NAV_TREND_TAGS, tags);
     }
 
     /**
@@ -345,7 +421,13 @@ public class Filler {
      * @throws Exception exception
      */
     private void fillNewTags(final Map<String, Object> dataModel) throws Exception {
-        dataModel.put(Common.NEW_TAGS, tagQueryService.getNewTags(Symphonys.getInt("newTagsCnt")));
+        Object tags = fragmentCache.get(FragmentCache.NEW_TAGS);
+        if (null == tags) {
+            tags = tagQueryService.getNewTags(Symphonys.getInt("newTagsCnt"));
+            fragmentCache.put(FragmentCache.NEW_TAGS, tags);
+        }
+
+        dataModel.put(Common.NEW_TAGS, tags);
     }
 
     /**
@@ -356,9 +438,27 @@ public class Filler {
      */
     private void fillSysInfo(final Map<String, Object> dataModel) throws Exception {
         dataModel.put(Common.VERSION, SymphonyServletListener.VERSION);
-        dataModel.put(Common.ONLINE_VISITOR_CNT, optionQueryService.getOnlineVisitorCount());
+        dataModel.put(Common.ONLINE_VISITOR_CNT, OnlineVisitors.getCount());
 
-        final JSONObject statistic = optionQueryService.getStatistic();
+        Object statistic = fragmentCache.get(FragmentCache.STATISTIC);
+        if (null == statistic) {
+            statistic = optionQueryService.getStatistic();
+            fragmentCache.put(FragmentCache.STATISTIC, statistic);
+        }
         dataModel.put(Option.CATEGORY_C_STATISTIC, statistic);
     }
+
+    /**
+     * Picks the specified count of objects from the specified pool randomly.
+     *
+     * @param pool the specified pool, will not be modified
+     * @param cnt the specified count
+     * @return picked objects
+     */
+    private static List<JSONObject> pick(final List<JSONObject> pool, final int cnt) {
+        final List<JSONObject> ret = new ArrayList<JSONObject>(pool);
+        Collections.shuffle(ret);
+
+        return cnt < ret.size() ? ret.subList(0, cnt) : ret;
+    }
 }
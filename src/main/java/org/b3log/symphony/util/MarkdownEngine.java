@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.util;
+
+/**
+ * Markdown engine, converts markdown text to HTML.
+ *
+ * <p>
+ * The engine used by {@link Markdowns} is configured by {@code markdown.engine} in symphony.properties, the value is
+ * "papers" (<a href="http://markdown.tautua.org/">MarkdownPapers</a>), "commonmark"
+ * (<a href="https://github.com/atlassian/commonmark-java">commonmark-java</a>) or the class name of an implementation
+ * with a public no-arg constructor.
+ * </p>
+ *
+ * <p>
+ * Implementations must be thread-safe.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+public interface MarkdownEngine {
+
+    /**
+     * Renders the specified markdown text to HTML into the specified output.
+     *
+     * @param markdownText the specified markdown text
+     * @param out the specified output
+     * @throws Exception if the markdown text can not be parsed or the output failed
+     */
+    void render(final String markdownText, final Appendable out) throws Exception;
+}
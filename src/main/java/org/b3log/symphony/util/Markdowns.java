@@ -15,97 +15,142 @@
  */
 package org.b3log.symphony.util;
 
-import java.io.StringReader;
-import java.io.StringWriter;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.LatkeBeanManagerImpl;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.LangPropsServiceImpl;
 import org.b3log.latke.util.Strings;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.parser.Parser;
+import org.jsoup.parser.Tag;
+import org.jsoup.safety.Cleaner;
 import org.jsoup.safety.Whitelist;
-import org.jsoup.select.Elements;
-import org.tautua.markdownpapers.Markdown;
-import org.tautua.markdownpapers.parser.ParseException;
 
 /**
  * <a href="http://en.wikipedia.org/wiki/Markdown">Markdown</a> utilities.
  *
  * <p>
- * Uses the <a href="http://markdown.tautua.org/">MarkdownPapers</a> as the converter.
+ * Uses the {@link MarkdownEngine} configured by {@code markdown.engine} in symphony.properties as the converter,
+ * <a href="http://markdown.tautua.org/">MarkdownPapers</a> by default.
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.3.7, Feb 16, 2016
+ * @version 1.8.1.0, Oct 17, 2026
  * @since 0.2.0
  */
 public final class Markdowns {
 
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Markdowns.class.getName());
+
     /**
      * Language service.
      */
     public static final LangPropsService LANG_PROPS_SERVICE
             = LatkeBeanManagerImpl.getInstance().getReference(LangPropsServiceImpl.class);
 
+    /**
+     * Markdown engine.
+     */
+    private static final MarkdownEngine ENGINE = getEngine(Symphonys.get("markdown.engine"));
+
+    /**
+     * Version of the rendering (markdown, sanitizing and emotions), bumps it if the rendering changed.
+     */
+    private static final String RENDERING_VERSION = "1.1.0";
+
+    /**
+     * Renderer version, consists of the rendering version, the markdown engine and the serve paths.
+     *
+     * <p>
+     * The derived HTML stored with another renderer version is stale, it will be rendered again.
+     * </p>
+     */
+    public static final String RENDERER_VERSION = RENDERING_VERSION + '-' + Integer.toHexString(
+            (Symphonys.get("markdown.engine") + ' ' + Latkes.getServePath() + ' ' + Latkes.getStaticServePath()).hashCode());
+
+    /**
+     * Max capacity of the reused HTML buffer, a larger buffer will not be kept by the thread.
+     */
+    private static final int MAX_BUFFER_CAPACITY = 1024 * 1024;
+
+    /**
+     * HTML buffers.
+     */
+    private static final ThreadLocal<StringBuilder> BUFFERS = new ThreadLocal<StringBuilder>() {
+        @Override
+        protected StringBuilder initialValue() {
+            return new StringBuilder(4096);
+        }
+    };
+
+    /**
+     * Whitelist of the safe HTML content.
+     */
+    private static final Whitelist WHITELIST = Whitelist.relaxed().
+            addAttributes(":all", "id", "target", "class").
+            addTags("span", "hr").addAttributes("iframe", "src", "width", "height")
+            .addAttributes("audio", "controls", "src");
+
     /**
      * Gets the safe HTML content of the specified content.
      *
+     * <p>
+     * Content without any tag or entity (no {@code <} and {@code &}) will be escaped directly without parsing.
+     * </p>
+     *
      * @param content the specified content
      * @param baseURI the specified base URI, the relative path value of href will starts with this URL
      * @return safe HTML content
      */
     public static String clean(final String content, final String baseURI) {
-        final Document.OutputSettings outputSettings = new Document.OutputSettings();
-        outputSettings.prettyPrint(false);
-
-        final String tmp = Jsoup.clean(content, baseURI, Whitelist.relaxed().
-                addAttributes(":all", "id", "target", "class").
-                addTags("span", "hr").addAttributes("iframe", "src", "width", "height")
-                .addAttributes("audio", "controls", "src"), outputSettings);
-        final Document doc = Jsoup.parse(tmp, baseURI, Parser.xmlParser());
-        final Elements iframes = doc.getElementsByTag("iframe");
-        for (final Element iframe : iframes) {
-            final String src = iframe.attr("src");
-            if (!src.startsWith("https://wide.b3log.org")) {
-                iframe.remove();
-            }
-        }
+        if (content.indexOf('<') < 0 && content.indexOf('&') < 0) {
+            final Element body = new Element(Tag.valueOf("body"), baseURI);
+            body.appendText(content);
 
-        final Elements ps = doc.getElementsByTag("p");
-        for (final Element p : ps) {
-            p.removeAttr("style");
+            return body.html();
         }
 
-        final Elements as = doc.getElementsByTag("a");
-        for (final Element a : as) {
-            a.attr("rel", "nofollow");
-
-            final String href = a.attr("href");
-            if (href.startsWith(Latkes.getServePath())) {
-                continue;
+        final Document doc = new Cleaner(WHITELIST).clean(Jsoup.parseBodyFragment(content, baseURI));
+        final String servePath = Latkes.getServePath();
+
+        for (final Element element : doc.body().getAllElements()) {
+            final String tagName = element.tagName();
+
+            if ("a".equals(tagName)) {
+                element.attr("rel", "nofollow");
+
+                final String href = element.attr("href");
+                if (!href.startsWith(servePath)) {
+                    element.attr("target", "_blank");
+                }
+            } else if ("p".equals(tagName)) {
+                element.removeAttr("style");
+            } else if ("iframe".equals(tagName)) {
+                final String src = element.attr("src");
+                if (!src.startsWith("https://wide.b3log.org")) {
+                    element.remove();
+                }
+            } else if ("audio".equals(tagName)) {
+                final String src = element.attr("src");
+                if (!StringUtils.contains(src, "qnssl.com") && !StringUtils.contains(src, "clouddn.com")) {
+                    element.remove();
+
+                    continue;
+                }
+
+                element.text(LANG_PROPS_SERVICE.get("notSupportAudioLabel"));
+                element.attr("preload", "none");
             }
-
-            a.attr("target", "_blank");
         }
 
-        final Elements audios = doc.getElementsByTag("audio");
-        for (final Element audio : audios) {
-            final String src = audio.attr("src");
-            if (!StringUtils.contains(src, "qnssl.com") && !StringUtils.contains(src, "clouddn.com")) {
-                audio.remove();
-
-                continue;
-            }
-
-            audio.text(LANG_PROPS_SERVICE.get("notSupportAudioLabel"));
-            audio.attr("preload", "none");
-        }
-
-        return doc.html();
+        return doc.body().html();
     }
 
     /**
@@ -120,17 +165,61 @@ public final class Markdowns {
             return "";
         }
 
-        final StringWriter writer = new StringWriter();
-        final Markdown markdown = new Markdown();
+        final StringBuilder buffer = BUFFERS.get();
+        buffer.setLength(0);
 
         try {
-            markdown.transform(new StringReader(markdownText), writer);
-        } catch (final ParseException e) {
+            ENGINE.render(markdownText, buffer);
+
+            return buffer.toString();
+        } catch (final Exception e) {
             // LOGGER.log(Level.WARN, "Markdown error[text={0}]", markdownText);
             return markdownText;
+        } finally {
+            if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+                BUFFERS.remove();
+            }
         }
+    }
 
-        return writer.toString();
+    /**
+     * Converts the specified markdown text to HTML into the specified output.
+     *
+     * @param markdownText the specified markdown text
+     * @param out the specified output
+     * @throws Exception if the markdown text can not be parsed or the output failed, the output may has been appended
+     * partially
+     */
+    public static void toHTML(final String markdownText, final Appendable out) throws Exception {
+        if (Strings.isEmptyOrNull(markdownText)) {
+            return;
+        }
+
+        ENGINE.render(markdownText, out);
+    }
+
+    /**
+     * Gets the markdown engine with the specified name.
+     *
+     * @param name the specified name, "papers", "commonmark" or the class name of an implementation
+     * @return markdown engine, returns the MarkdownPapers engine if not found
+     */
+    static MarkdownEngine getEngine(final String name) {
+        if (StringUtils.isBlank(name) || "papers".equals(name)) {
+            return new PapersMarkdownEngine();
+        }
+
+        if ("commonmark".equals(name)) {
+            return new CommonMarkEngine();
+        }
+
+        try {
+            return (MarkdownEngine) Class.forName(name).newInstance();
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Loads markdown engine [" + name + "] failed, uses MarkdownPapers instead", e);
+
+            return new PapersMarkdownEngine();
+        }
     }
 
     /**
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.util;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import org.tautua.markdownpapers.Markdown;
+
+/**
+ * <a href="http://markdown.tautua.org/">MarkdownPapers</a> engine.
+ *
+ * <p>
+ * Each thread reuses its own converter and writer.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+final class PapersMarkdownEngine implements MarkdownEngine {
+
+    /**
+     * Converters.
+     */
+    private static final ThreadLocal<Markdown> MARKDOWNS = new ThreadLocal<Markdown>() {
+        @Override
+        protected Markdown initialValue() {
+            return new Markdown();
+        }
+    };
+
+    /**
+     * Writers.
+     */
+    private static final ThreadLocal<AppendableWriter> WRITERS = new ThreadLocal<AppendableWriter>() {
+        @Override
+        protected AppendableWriter initialValue() {
+            return new AppendableWriter();
+        }
+    };
+
+    @Override
+    public void render(final String markdownText, final Appendable out) throws Exception {
+        final AppendableWriter writer = WRITERS.get();
+        writer.out = out;
+
+        try {
+            MARKDOWNS.get().transform(new StringReader(markdownText), writer);
+        } finally {
+            writer.out = null;
+        }
+    }
+
+    /**
+     * Writer appends to an {@link Appendable}.
+     *
+     * @author <a href="http://88250.b3log.org">Liang Ding</a>
+     * @version 1.0.0.0, Oct 16, 2026
+     * @since 1.4.0
+     */
+    private static final class AppendableWriter extends Writer {
+
+        /**
+         * Output.
+         */
+        private Appendable out;
+
+        @Override
+        public void write(final char[] cbuf, final int off, final int len) throws IOException {
+            if (out instanceof StringBuilder) {
+                ((StringBuilder) out).append(cbuf, off, len);
+
+                return;
+            }
+
+            out.append(CharBuffer.wrap(cbuf, off, len));
+        }
+
+        @Override
+        public void write(final String str, final int off, final int len) throws IOException {
+            out.append(str, off, off + len);
+        }
+
+        @Override
+        public void write(final int c) throws IOException {
+            out.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.util;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped locks.
+ *
+ * <p>
+ * Maps keys (user ids, etc) to a fixed number of locks, the same key always gets the same lock and different keys
+ * mostly get different locks, for example,
+ * <pre>
+ * final Lock lock = locks.get(userId);
+ * lock.lock();
+ * try {
+ *     ....
+ * } finally {
+ *     lock.unlock();
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 16, 2026
+ * @since 1.4.0
+ */
+public final class StripedLocks {
+
+    /**
+     * Locks.
+     */
+    private final Lock[] locks;
+
+    /**
+     * Mask of lock index.
+     */
+    private final int mask;
+
+    /**
+     * Constructs striped locks with the specified stripe count.
+     *
+     * @param stripes the specified stripe count, will be rounded up to a power of 2
+     */
+    public StripedLocks(final int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+
+        locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+
+        mask = size - 1;
+    }
+
+    /**
+     * Gets the lock of the specified key.
+     *
+     * @param key the specified key
+     * @return lock
+     */
+    public Lock get(final Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 20) ^ (h >>> 12);
+        h ^= (h >>> 7) ^ (h >>> 4);
+
+        return locks[h & mask];
+    }
+}
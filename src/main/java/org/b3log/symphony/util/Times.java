@@ -17,6 +17,8 @@ package org.b3log.symphony.util;
 
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.b3log.latke.ioc.LatkeBeanManager;
 import org.b3log.latke.ioc.LatkeBeanManagerImpl;
 import org.b3log.latke.service.LangPropsService;
@@ -25,8 +27,13 @@ import org.b3log.latke.service.LangPropsServiceImpl;
 /**
  * Time utilities.
  *
+ * <p>
+ * The time ago labels are resolved once per locale into an immutable table, which also holds the precomputed texts of
+ * the common amounts, so formatting a time ago text neither looks up beans nor allocates in most cases.
+ * </p>
+ *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Sep 1, 2015
+ * @version 1.1.0.0, Oct 16, 2026
  * @since 1.3.0
  */
 public final class Times {
@@ -61,6 +68,28 @@ public final class Times {
      */
     private static final long YEAR_UNIT = 12 * MONTH_UNIT;
 
+    /**
+     * Units, in descending order.
+     */
+    private static final long[] UNITS = {YEAR_UNIT, MONTH_UNIT, WEEK_UNIT, DAY_UNIT, HOUR_UNIT, MINUTE_UNIT};
+
+    /**
+     * Label keys of the units.
+     */
+    private static final String[] UNIT_LABELS = {
+        "yearsAgoLabel", "monthsAgoLabel", "weeksAgoLabel", "daysAgoLabel", "hoursAgoLabel", "minutesAgoLabel"
+    };
+
+    /**
+     * Count of the precomputed texts per unit, covers all amounts of the units except year.
+     */
+    private static final int PRECOMPUTED_CNT = 64;
+
+    /**
+     * Time ago label tables &lt;locale, table&gt;, see {@link #getLabels(java.util.Map)}.
+     */
+    private static final ConcurrentMap<Locale, String[][]> LABELS = new ConcurrentHashMap<Locale, String[][]>();
+
     /**
      * Gets time ago format text.
      *
@@ -69,50 +98,100 @@ public final class Times {
      * @return time ago format text
      */
     public static String getTimeAgo(final long time, final Locale locale) {
-        final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
-        final LangPropsService langService = beanManager.getReference(LangPropsServiceImpl.class);
-        final Map<String, String> langs = langService.getAll(locale);
-
-        final long diff = System.currentTimeMillis() - time;
-        long r = 0;
+        return format(System.currentTimeMillis() - time, getLabels(locale));
+    }
 
-        if (diff > YEAR_UNIT) {
-            r = diff / YEAR_UNIT;
+    /**
+     * Gets time ago format texts of the specified times against the same now.
+     *
+     * @param times the specified times
+     * @param locale the specified locale
+     * @return time ago format texts, in the order of the specified times
+     */
+    public static String[] getTimeAgos(final long[] times, final Locale locale) {
+        final String[][] labels = getLabels(locale);
+        final long now = System.currentTimeMillis();
 
-            return r + " " + langs.get("yearsAgoLabel");
+        final String[] ret = new String[times.length];
+        for (int i = 0; i < times.length; i++) {
+            ret[i] = format(now - times[i], labels);
         }
 
-        if (diff > MONTH_UNIT) {
-            r = diff / MONTH_UNIT;
+        return ret;
+    }
 
-            return r + " " + langs.get("monthsAgoLabel");
+    /**
+     * Gets the time ago label table of the specified locale.
+     *
+     * @param locale the specified locale
+     * @return label table
+     */
+    private static String[][] getLabels(final Locale locale) {
+        String[][] ret = LABELS.get(locale);
+        if (null != ret) {
+            return ret;
         }
 
-        if (diff > WEEK_UNIT) {
-            r = diff / WEEK_UNIT;
+        final LatkeBeanManager beanManager = LatkeBeanManagerImpl.getInstance();
+        final LangPropsService langService = beanManager.getReference(LangPropsServiceImpl.class);
 
-            return r + " " + langs.get("weeksAgoLabel");
-        }
+        ret = getLabels(langService.getAll(locale));
 
-        if (diff > DAY_UNIT) {
-            r = diff / DAY_UNIT;
+        final String[][] old = LABELS.putIfAbsent(locale, ret);
 
-            return r + " " + langs.get("daysAgoLabel");
-        }
+        return null == old ? ret : old;
+    }
 
-        if (diff > HOUR_UNIT) {
-            r = diff / HOUR_UNIT;
+    /**
+     * Builds a time ago label table with the specified language labels.
+     *
+     * <p>
+     * Row {@code i} of the table is for unit {@code UNITS[i]}, its element {@code 0} is the label (with a leading
+     * blank) and element {@code n} (n &gt; 0) is the text of amount {@code n}. The last row holds the "just now"
+     * label.
+     * </p>
+     *
+     * @param langs the specified language labels
+     * @return label table
+     */
+    static String[][] getLabels(final Map<String, String> langs) {
+        final String[][] ret = new String[UNITS.length + 1][];
+
+        for (int i = 0; i < UNITS.length; i++) {
+            final String label = " " + langs.get(UNIT_LABELS[i]);
 
-            return r + " " + langs.get("hoursAgoLabel");
+            final String[] texts = new String[PRECOMPUTED_CNT];
+            texts[0] = label;
+            for (int n = 1; n < PRECOMPUTED_CNT; n++) {
+                texts[n] = n + label;
+            }
+
+            ret[i] = texts;
         }
 
-        if (diff > MINUTE_UNIT) {
-            r = diff / MINUTE_UNIT;
+        ret[UNITS.length] = new String[]{langs.get("justNowLabel")};
+
+        return ret;
+    }
 
-            return r + " " + langs.get("minutesAgoLabel");
+    /**
+     * Formats the specified time difference with the specified label table.
+     *
+     * @param diff the specified time difference (in milliseconds)
+     * @param labels the specified label table
+     * @return time ago format text
+     */
+    static String format(final long diff, final String[][] labels) {
+        for (int i = 0; i < UNITS.length; i++) {
+            if (diff > UNITS[i]) {
+                final long r = diff / UNITS[i];
+                final String[] texts = labels[i];
+
+                return r < texts.length ? texts[(int) r] : r + texts[0];
+            }
         }
 
-        return langs.get("justNowLabel");
+        return labels[UNITS.length][0];
     }
 
     /**
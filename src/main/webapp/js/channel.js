@@ -18,7 +18,7 @@
  * @fileoverview Message channel via WebSocket.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.4.5.4, Sep 13, 2015
+ * @version 1.6.0.5, Oct 17, 2026
  */
 
 /**
@@ -111,11 +111,11 @@ var ArticleChannel = {
                     if (data.operation === "+") {
                         $heatBar.append('<i class="point"></i>');
                         setTimeout(function () {
-                            $heat.width($(".heat").width() + 1 * 3);
+                            $heat.width(data.articleHeat * 3);
                             $heatBar.find(".point").remove();
                         }, 2000);
                     } else {
-                        $heat.width($(".heat").width() - 1 * 3);
+                        $heat.width(data.articleHeat * 3);
                         $heatBar.append('<i class="point-remove"></i>');
                         setTimeout(function () {
                             $heatBar.find(".point-remove").remove();
@@ -150,6 +150,12 @@ var ArticleListChannel = {
      * @type WebSocket
      */
     ws: undefined,
+    /**
+     * Subscribed article ids ("articleId1,articleId2"), undefined if not changed since connected.
+     * 
+     * @type String
+     */
+    articleIds: undefined,
     /**
      * @description Initializes message channel
      */
@@ -158,6 +164,10 @@ var ArticleListChannel = {
         ArticleListChannel.ws.reconnectInterval = 10000;
 
         ArticleListChannel.ws.onopen = function () {
+            if (ArticleListChannel.articleIds) { // Restores the subscription after reconnected
+                ArticleListChannel.subscribe(ArticleListChannel.articleIds);
+            }
+
             setInterval(function () {
                 ArticleListChannel.ws.send('-hb-');
             }, 1000 * 60 * 3);
@@ -175,11 +185,11 @@ var ArticleListChannel = {
                     if (data.operation === "+") {
                         $li.append('<i class="point"></i>');
                         setTimeout(function () {
-                            $heat.width($heat.width() + 1 * 3);
+                            $heat.width(data.articleHeat * 3);
                             $li.find(".point").remove();
                         }, 2000);
                     } else {
-                        $heat.width($heat.width() - 1 * 3);
+                        $heat.width(data.articleHeat * 3);
                         $li.append('<i class="point-remove"></i>');
                         setTimeout(function () {
                             $li.find(".point-remove").remove();
@@ -196,6 +206,17 @@ var ArticleListChannel = {
         ArticleListChannel.ws.onerror = function (err) {
             console.log("ERROR", err)
         };
+    },
+    /**
+     * @description Subscribes the specified articles (for example, after paginating) without reconnecting.
+     * @param {String} articleIds article ids, "articleId1,articleId2"
+     */
+    subscribe: function (articleIds) {
+        ArticleListChannel.articleIds = articleIds;
+
+        ArticleListChannel.ws.send(JSON.stringify({
+            articleIds: articleIds
+        }));
     }
 };
 
@@ -210,6 +231,18 @@ var TimelineChannel = {
      * @type WebSocket
      */
     ws: undefined,
+    /**
+     * Sequence of the latest timeline, all timelines up to it have been received.
+     * 
+     * @type Number
+     */
+    sequence: 0,
+    /**
+     * Whether the channel has been opened before.
+     * 
+     * @type Boolean
+     */
+    opened: false,
     /**
      * @description Initializes message channel
      */
@@ -218,33 +251,34 @@ var TimelineChannel = {
         TimelineChannel.ws.reconnectInterval = 10000;
 
         TimelineChannel.ws.onopen = function () {
+            if (TimelineChannel.opened) { // Reconnected, fetches the missed timelines
+                $.ajax({
+                    url: "/timeline?since=" + TimelineChannel.sequence,
+                    type: "GET",
+                    cache: false,
+                    success: function (result) {
+                        if (!result.sc) {
+                            return;
+                        }
+
+                        for (var i = result.timelines.length - 1; i >= 0; i--) {
+                            TimelineChannel.prepend(result.timelines[i]);
+                        }
+                    }
+                });
+
+                return;
+            }
+
+            TimelineChannel.opened = true;
+
             setInterval(function () {
                 TimelineChannel.ws.send('-hb-');
             }, 1000 * 60 * 3);
         };
 
         TimelineChannel.ws.onmessage = function (evt) {
-            var data = JSON.parse(evt.data);
-
-            $('#emptyTimeline').remove();
-
-            switch (data.type) {
-                case 'newUser':
-                case 'article':
-                case 'comment':
-                case 'activity':
-                    var time = new Date().getTime();
-                    var template = "<li class=\"fn-none\" id=" + time + ">" + data.content + "</li>";
-                    $("#ul").prepend(template);
-                    $("#" + time).fadeIn(2000);
-
-                    var length = $("#ul > li").length;
-                    if (length > timelineCnt) {
-                        $("#ul > li:last").remove();
-                    }
-
-                    break;
-            }
+            TimelineChannel.prepend(JSON.parse(evt.data));
         };
 
         TimelineChannel.ws.onclose = function () {
@@ -254,6 +288,53 @@ var TimelineChannel = {
         TimelineChannel.ws.onerror = function (err) {
             console.log("ERROR", err)
         };
+    },
+    /**
+     * @description Inserts the specified timeline by its sequence, the timelines may be received out of order.
+     * @param {Object} data timeline
+     */
+    prepend: function (data) {
+        if (data.sequence <= TimelineChannel.sequence
+                || $("#ul > li[data-sequence=" + data.sequence + "]").length > 0) { // Received already
+            return;
+        }
+
+        $('#emptyTimeline').remove();
+
+        switch (data.type) {
+            case 'newUser':
+            case 'article':
+            case 'comment':
+            case 'activity':
+                var time = new Date().getTime() + '' + data.sequence;
+                var template = "<li class=\"fn-none\" id=" + time + " data-sequence=\"" + data.sequence + "\">"
+                        + data.content + "</li>";
+
+                var $next = $("#ul > li").filter(function () { // The first older one, rendered ones have no sequence
+                    var sequence = $(this).data("sequence");
+                    return undefined === sequence || sequence < data.sequence;
+                }).first();
+                if ($next.length > 0) {
+                    $next.before(template);
+                } else {
+                    $("#ul").append(template);
+                }
+                $("#" + time).fadeIn(2000);
+
+                var length = $("#ul > li").length;
+                if (length > timelineCnt) {
+                    $("#ul > li:last").remove();
+                }
+
+                break;
+        }
+
+        if (data.sequence === TimelineChannel.sequence + 1) {
+            TimelineChannel.sequence = data.sequence;
+        }
+        while ($("#ul > li[data-sequence=" + (TimelineChannel.sequence + 1) + "]").length > 0) {
+            TimelineChannel.sequence++;
+        }
     }
 };
 
@@ -42,6 +42,7 @@
             TimelineChannel.init("${wsScheme}://${serverHost}:${serverPort}/timeline-channel");
             
             var timelineCnt = ${timelineCnt};
+            TimelineChannel.sequence = ${timelineSeq?c};
         </script>
     </body>
 </html>
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.processor.channel;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import junit.framework.Assert;
+import org.b3log.latke.Latkes;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Common;
+import org.json.JSONObject;
+import org.testng.annotations.Test;
+
+/**
+ * {@link ArticleChannel} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.2, Oct 17, 2026
+ * @since 1.4.0
+ */
+public class ArticleChannelTestCase {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Simulated session count.
+     */
+    private static final int SESSION_CNT = 5000;
+
+    /**
+     * Simulated article count.
+     */
+    private static final int ARTICLE_CNT = 500;
+
+    /**
+     * Sent message count.
+     */
+    private final AtomicInteger sentCnt = new AtomicInteger();
+
+    /**
+     * Tests {@link ArticleChannel#notifyHeat(org.json.JSONObject)} touches only the viewers of the article.
+     */
+    @Test
+    public void notifyHeat() {
+        final ArticleChannel channel = new ArticleChannel();
+        final List<Session> sessions = new ArrayList<Session>();
+        for (int i = 0; i < SESSION_CNT; i++) {
+            final Session session = newSession(String.valueOf(i % ARTICLE_CNT));
+            sessions.add(session);
+            channel.onConnect(session);
+        }
+
+        final JSONObject message = new JSONObject();
+        message.put(Common.OPERATION, "+");
+
+        for (int i = 0; i < ARTICLE_CNT; i++) {
+            message.put(Article.ARTICLE_T_ID, String.valueOf(i));
+
+            sentCnt.set(0);
+            ArticleChannel.notifyHeat(message);
+            Assert.assertEquals(SESSION_CNT / ARTICLE_CNT, sentCnt.get());
+        }
+
+        message.put(Article.ARTICLE_T_ID, String.valueOf(ARTICLE_CNT)); // No viewer
+        sentCnt.set(0);
+        ArticleChannel.notifyHeat(message);
+        Assert.assertEquals(0, sentCnt.get());
+
+        for (final Session session : sessions) {
+            channel.onClose(session, null);
+        }
+
+        Assert.assertTrue(ArticleChannel.SESSIONS.isEmpty());
+        Assert.assertEquals(0, ArticleChannel.ARTICLE_SESSIONS.size());
+    }
+
+    /**
+     * Creates a simulated session viewing the specified article.
+     *
+     * @param articleId the specified article id
+     * @return session
+     */
+    Session newSession(final String articleId) {
+        final Map<String, List<String>> parameters = new HashMap<String, List<String>>();
+        parameters.put(Article.ARTICLE_T_ID, Arrays.asList(articleId));
+        parameters.put(Article.ARTICLE_TYPE, Arrays.asList(String.valueOf(Article.ARTICLE_TYPE_C_NORMAL)));
+        final Map<String, Object> userProperties = new HashMap<String, Object>();
+
+        final RemoteEndpoint.Async remote = (RemoteEndpoint.Async) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{RemoteEndpoint.Async.class}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        if ("sendText".equals(method.getName())) {
+                            sentCnt.incrementAndGet();
+
+                            if (2 == args.length) { // Completes the async send immediately
+                                ((SendHandler) args[1]).onResult(new SendResult());
+                            }
+                        }
+
+                        return null;
+                    }
+                });
+
+        return (Session) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Session.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        final String name = method.getName();
+                        if ("getRequestParameterMap".equals(name)) {
+                            return parameters;
+                        } else if ("getUserProperties".equals(name)) {
+                            return userProperties;
+                        } else if ("isOpen".equals(name)) {
+                            return true;
+                        } else if ("getAsyncRemote".equals(name)) {
+                            return remote;
+                        } else if ("hashCode".equals(name)) {
+                            return System.identityHashCode(proxy);
+                        } else if ("equals".equals(name)) {
+                            return proxy == args[0];
+                        } else if ("toString".equals(name)) {
+                            return "session" + System.identityHashCode(proxy);
+                        }
+
+                        return null;
+                    }
+                });
+    }
+}
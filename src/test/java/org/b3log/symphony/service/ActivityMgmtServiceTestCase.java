@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.service;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import junit.framework.Assert;
+import org.b3log.latke.Latkes;
+import org.b3log.symphony.cache.ActivityCache;
+import org.b3log.symphony.model.Pointtransfer;
+import org.json.JSONObject;
+import org.testng.annotations.Test;
+
+/**
+ * Activity management service test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 17, 2026
+ * @since 1.4.0
+ */
+public class ActivityMgmtServiceTestCase {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Hammers {@link ActivityMgmtService#dailyCheckin(java.lang.String)} from many threads, asserts that each user is
+     * credited exactly once.
+     *
+     * <p>
+     * The pointtransfer table is simulated by a map, the checkin time window is ignored and the checkin streak is not
+     * persisted. The activity state ({@link ActivityCache} and
+     * {@link ActivityQueryService#isDoneToday(java.lang.String, int, int)}) is the real one.
+     * </p>
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void dailyCheckin() throws Exception {
+        final int userCnt = 200;
+        final int threadCnt = 32;
+        final int rounds = 20;
+
+        final ConcurrentMap<String, AtomicInteger> transfers = new ConcurrentHashMap<String, AtomicInteger>();
+        final List<String> userIds = new ArrayList<String>();
+        for (int i = 0; i < userCnt; i++) {
+            final String userId = String.valueOf(1453702040000L + i);
+
+            userIds.add(userId);
+            transfers.put(userId, new AtomicInteger());
+        }
+
+        final ActivityMgmtService activityMgmtService = newActivityMgmtService(transfers);
+        final AtomicInteger succCnt = new AtomicInteger();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCnt);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> futures = new ArrayList<Future<?>>();
+            for (int t = 0; t < threadCnt; t++) {
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        final List<String> ids = new ArrayList<String>(userIds);
+                        start.await();
+
+                        for (int r = 0; r < rounds; r++) {
+                            Collections.shuffle(ids);
+
+                            for (final String userId : ids) {
+                                if (Integer.MIN_VALUE != activityMgmtService.dailyCheckin(userId)) {
+                                    succCnt.incrementAndGet();
+                                }
+                            }
+                        }
+
+                        return null;
+                    }
+                }));
+            }
+
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (final String userId : userIds) {
+            Assert.assertEquals(userId, 1, transfers.get(userId).get());
+        }
+        Assert.assertEquals(userCnt, succCnt.get());
+    }
+
+    /**
+     * Creates an activity management service with stubbed collaborators.
+     *
+     * @param transfers the specified checkin transfer counts &lt;userId, count&gt;
+     * @return activity management service
+     * @throws Exception exception
+     */
+    private static ActivityMgmtService newActivityMgmtService(final ConcurrentMap<String, AtomicInteger> transfers)
+            throws Exception {
+        final PointtransferQueryService pointtransferQueryService = new PointtransferQueryService() {
+            @Override
+            public List<JSONObject> getLatestPointtransfers(final String userId, final int type, final int fetchSize) {
+                final List<JSONObject> ret = new ArrayList<JSONObject>();
+                if (0 < transfers.get(userId).get()) {
+                    ret.add(new JSONObject().put(Pointtransfer.TIME, System.currentTimeMillis()));
+                }
+                Thread.yield();
+
+                return ret;
+            }
+        };
+
+        final PointtransferMgmtService pointtransferMgmtService = new PointtransferMgmtService() {
+            @Override
+            public String transfer(final String fromId, final String toId, final int type, final int sum,
+                    final String dataId) {
+                final int cnt = transfers.get(toId).incrementAndGet();
+                Thread.yield();
+
+                return toId + '-' + cnt;
+            }
+        };
+
+        final ActivityCache activityCache = new ActivityCache();
+
+        final ActivityQueryService activityQueryService = new ActivityQueryService() {
+            @Override
+            public boolean isCheckedinToday(final String userId) {
+                return isDoneToday(userId, ActivityCache.CHECKIN, Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_CHECKIN);
+            }
+        };
+        inject(activityQueryService, "pointtransferQueryService", pointtransferQueryService);
+        inject(activityQueryService, "activityCache", activityCache);
+
+        final UserQueryService userQueryService = new UserQueryService() {
+            @Override
+            public JSONObject getUser(final String userId) {
+                return new JSONObject();
+            }
+        };
+
+        final UserMgmtService userMgmtService = new UserMgmtService() {
+            @Override
+            public void updateUser(final String userId, final JSONObject user) {
+            }
+        };
+
+        final ActivityMgmtService ret = new ActivityMgmtService();
+        inject(ret, "pointtransferQueryService", pointtransferQueryService);
+        inject(ret, "pointtransferMgmtService", pointtransferMgmtService);
+        inject(ret, "activityQueryService", activityQueryService);
+        inject(ret, "userQueryService", userQueryService);
+        inject(ret, "userMgmtService", userMgmtService);
+        inject(ret, "activityCache", activityCache);
+
+        return ret;
+    }
+
+    /**
+     * Injects the specified value into a field specified by the given field name of the specified target.
+     *
+     * @param target the specified target
+     * @param fieldName the given field name
+     * @param value the specified value
+     * @throws Exception exception
+     */
+    private static void inject(final Object target, final String fieldName, final Object value) throws Exception {
+        Class<?> clazz = target.getClass();
+        while (true) {
+            try {
+                final Field field = clazz.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(target, value);
+
+                return;
+            } catch (final NoSuchFieldException e) {
+                clazz = clazz.getSuperclass();
+                if (null == clazz) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
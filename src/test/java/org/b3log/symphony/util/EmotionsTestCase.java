@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.util;
+
+import com.vdurmont.emoji.EmojiParser;
+import java.lang.reflect.Field;
+import java.util.Random;
+import junit.framework.Assert;
+import org.b3log.latke.Latkes;
+import org.testng.annotations.Test;
+
+/**
+ * Emotions utilities test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.4, Oct 17, 2026
+ * @since 1.4.0
+ */
+public class EmotionsTestCase {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * All emoji codes of {@link Emotions}, in order.
+     */
+    private static final String[] ALL_EMOJIS;
+
+    static {
+        try {
+            final Field field = Emotions.class.getDeclaredField("EMOJIS");
+            field.setAccessible(true);
+
+            ALL_EMOJIS = (String[]) field.get(null);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Emoji codes used to generate contents.
+     */
+    private static final String[] EMOJIS = {
+        "+1", "-1", "a", "ab", "b", "heart", "heart_eyes", "smile", "smiley", "zzz"
+    };
+
+    /**
+     * Pieces used to generate contents.
+     */
+    private static final String[] PIECES = {
+        ":", ":", ":", "[em", "[em0", "[em1", "[em14]", "[em15]", "[em00]", "]", "0", "7", "x", " ", "\n", "<", "中",
+        "http://", "em"
+    };
+
+    /**
+     * Tests {@link Emotions#convert(java.lang.String)} with fixed contents.
+     */
+    @Test
+    public void convert() {
+        final String[] contents = {
+            "",
+            "no tokens",
+            "[em00][em14][em15][em9][em1a]",
+            ":heart::smile:",
+            ":smile:heart:",
+            ":heart:smile:heart:",
+            ":a:a:a:",
+            ":b:a:b:a:",
+            "::heart:::",
+            ":heart[em00]:",
+            "[em01]:+1:[em02]:-1:",
+            ":heart_eyes:heart:eyes:",
+            ":not_an_emoji_code_at_all_too_long_to_be_one:heart:"
+        };
+
+        for (final String content : contents) {
+            Assert.assertEquals(content, legacyConvert(content), Emotions.convert(content));
+        }
+
+        final String content = content(10 * 1024);
+        Assert.assertEquals(legacyConvert(content), Emotions.convert(content));
+
+        Assert.assertEquals(":smile<img align=\"absmiddle\" alt=\":heart:\" class=\"emoji\" src=\""
+                + Latkes.getStaticServePath() + "/js/lib/emojify.js-1.0.2/images/basic/heart.png\" title=\":heart:\"></img>",
+                Emotions.convert(":smile:heart:"));
+    }
+
+    /**
+     * Tests {@link Emotions#convert(java.lang.String)} with random contents against the legacy implementation.
+     */
+    @Test
+    public void convertRandom() {
+        final Random random = new Random(20261016L);
+
+        for (int i = 0; i < 20000; i++) {
+            final String content = randomContent(random, random.nextInt(40));
+
+            Assert.assertEquals(content, legacyConvert(content), Emotions.convert(content));
+        }
+    }
+
+    /**
+     * Tests {@link Emotions#clear(java.lang.String)}.
+     */
+    @Test
+    public void clear() {
+        Assert.assertEquals("a b c", Emotions.clear("a [em00]b[em99] :heart:c"));
+        Assert.assertEquals(":smile", Emotions.clear(":smile:heart:"));
+        Assert.assertEquals("[em1]", Emotions.clear("[em1[em02]]"));
+
+        for (final int size : new int[]{10 * 1024, 100 * 1024}) {
+            final String content = content(size);
+            Assert.assertEquals(legacyClear(content), Emotions.clear(content));
+        }
+
+        final Random random = new Random(20261016L);
+        for (int i = 0; i < 20000; i++) {
+            final String c = randomContent(random, random.nextInt(40));
+
+            // Clears the tokens as converting them, the fragments joined by clearing are not matched again
+            final String expected = Emotions.convert(c.replace('<', ' ')).replaceAll("<img[^>]*>(</img>)?", "\u0000")
+                    .replaceAll("\\[em\\d+]", "").replace("\u0000", "");
+
+            Assert.assertEquals(c, expected, Emotions.clear(c.replace('<', ' ')));
+        }
+    }
+
+    /**
+     * Tests {@link Emotions#toAliases(java.lang.String)}.
+     */
+    @Test
+    public void toAliases() {
+        final String content = "Symphony \uD83D\uDE04 :smile: \uD83D\uDC4D [em00] \uD83C\uDF89";
+
+        Assert.assertEquals(EmojiParser.parseToAliases(content), Emotions.toAliases(content));
+        Assert.assertEquals("no emoji", Emotions.toAliases("no emoji"));
+
+        final String large = content(100 * 1024) + "\uD83D\uDE04";
+        Assert.assertEquals(EmojiParser.parseToAliases(large), Emotions.toAliases(large));
+    }
+
+    /**
+     * Generates a content of the specified size.
+     *
+     * @param size the specified size
+     * @return content
+     */
+    static String content(final int size) {
+        final StringBuilder ret = new StringBuilder();
+        while (ret.length() < size) {
+            ret.append("Symphony \u662f\u4e00\u4e2a\u73b0\u4ee3\u5316\u7684\u793e\u533a\u5e73\u53f0 :smile: [em03] http://hacpai.com ");
+        }
+
+        return ret.substring(0, size);
+    }
+
+    /**
+     * Generates a random content.
+     *
+     * @param random the specified random
+     * @param pieceCnt the specified piece count
+     * @return content
+     */
+    private static String randomContent(final Random random, final int pieceCnt) {
+        final StringBuilder ret = new StringBuilder();
+
+        for (int i = 0; i < pieceCnt; i++) {
+            if (random.nextBoolean()) {
+                ret.append(EMOJIS[random.nextInt(EMOJIS.length)]);
+            } else {
+                ret.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+        }
+
+        return ret.toString();
+    }
+
+    /**
+     * The legacy (multi-pass) implementation of {@link Emotions#convert(java.lang.String)}.
+     *
+     * @param content the specified content
+     * @return converted content
+     */
+    static String legacyConvert(final String content) {
+        String ret = content;
+
+        String emotionName;
+        for (int i = 0; i < 15; i++) {
+            if (i < 10) {
+                emotionName = "em0" + i;
+            } else {
+                emotionName = "em" + i;
+            }
+
+            ret = ret.replace('[' + emotionName + ']',
+                    "<img src='" + Latkes.getStaticServePath() + "/images/emotions/ease/" + emotionName + ".png" + "' />");
+        }
+
+        for (final String emojiCode : ALL_EMOJIS) {
+            final String emoji = ":" + emojiCode + ":";
+            ret = ret.replace(emoji, "<img align=\"absmiddle\" alt=\"" + emoji + "\" class=\"emoji\" src=\""
+                    + Latkes.getStaticServePath() + "/js/lib/emojify.js-1.0.2/images/basic/" + emojiCode
+                    + ".png\" title=\"" + emoji + "\"></img>");
+        }
+
+        return ret;
+    }
+
+    /**
+     * The legacy (multi-pass) implementation of {@link Emotions#clear(java.lang.String)}.
+     *
+     * @param content the specified content
+     * @return cleared content
+     */
+    static String legacyClear(final String content) {
+        String ret = content.replaceAll("\\[em\\d+]", "");
+        for (final String emojiCode : ALL_EMOJIS) {
+            final String emoji = ":" + emojiCode + ":";
+            ret = ret.replace(emoji, "");
+        }
+
+        return ret;
+    }
+}
@@ -19,14 +19,21 @@ import java.io.FileReader;
 import java.net.URL;
 import junit.framework.Assert;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Latkes;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.safety.Whitelist;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 /**
  * Markdown utilities test case.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.0.0, Jul 17, 2015
+ * @version 2.2.0.4, Oct 17, 2026
  * @since 0.1.6
  */
 public class MarkdownsTestCase {
@@ -74,4 +81,154 @@ public class MarkdownsTestCase {
         
         // System.out.println(html);
     }
+
+    /**
+     * Tests {@link Markdowns#clean(java.lang.String, java.lang.String)} for links, iframes and plain text.
+     */
+    @Test
+    public void clean0() {
+        Assert.assertEquals("a &gt; b", Markdowns.clean("a > b", ""));
+        Assert.assertEquals("", Markdowns.clean("", ""));
+
+        String html = Markdowns.clean("<p style='color: red'><a href='http://b3log.org'>b3log</a>"
+                + "<script>alert(1)</script></p>", "");
+        Assert.assertTrue(html.contains("rel=\"nofollow\""));
+        Assert.assertTrue(html.contains("target=\"_blank\""));
+        Assert.assertFalse(html.contains("style"));
+        Assert.assertFalse(html.contains("script"));
+
+        html = Markdowns.clean("<iframe src='http://evil.com'></iframe><iframe src='https://wide.b3log.org/play'></iframe>",
+                "");
+        Assert.assertFalse(html.contains("evil.com"));
+        Assert.assertTrue(html.contains("wide.b3log.org"));
+    }
+
+    /**
+     * Tests {@link Markdowns#clean(java.lang.String, java.lang.String)} against the legacy implementation.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void cleanLegacy() throws Exception {
+        final String[] contents = {
+            "",
+            "Symphony \u662f\u4e00\u4e2a\u73b0\u4ee3\u5316\u7684\u793e\u533a\u5e73\u53f0",
+            "a > b & c",
+            "<p style='color: red'><a href='http://b3log.org'>b3log</a><script>alert(1)</script></p>",
+            "<a href='" + Latkes.getServePath() + "/member/admin'>@admin</a> <a href='/tags/B3log'>B3log</a>",
+            "<a href='data:text/html;base64,PHNjcmlwdD5hbGVydCgnWFNTJyk8L3NjcmlwdD4K'>a link</a>",
+            "<iframe src='http://evil.com'></iframe><iframe src='https://wide.b3log.org/play' width='100'></iframe>",
+            "<div id='d' class='c' onclick='alert(1)'><span>x</span><hr><img src='http://b3log.org/a.png'></div>",
+            Markdowns.toHTML("# Symphony\n\n**bold** <br> and *em* &amp;\n\n    code < >\n\n* item\n* [link](b3log.org)"),
+            Markdowns.toHTML(syntax())
+        };
+
+        for (final String content : contents) {
+            Assert.assertEquals(content, legacyClean(content, ""), Markdowns.clean(content, ""));
+        }
+    }
+
+    /**
+     * Markdown engines.
+     *
+     * @return engines
+     */
+    @DataProvider(name = "engines")
+    public Object[][] engines() {
+        return new Object[][]{
+            {"papers", Markdowns.getEngine("papers")},
+            {"commonmark", Markdowns.getEngine("commonmark")}
+        };
+    }
+
+    /**
+     * Tests {@link MarkdownEngine#render(java.lang.String, java.lang.Appendable)} of each engine.
+     *
+     * @param name the specified engine name
+     * @param engine the specified engine
+     * @throws Exception exception
+     */
+    @Test(dataProvider = "engines")
+    public void render(final String name, final MarkdownEngine engine) throws Exception {
+        StringBuilder html = new StringBuilder();
+        engine.render("[b3log](http://b3log.org)", html);
+        Assert.assertTrue(name, html.toString().contains("href"));
+
+        html = new StringBuilder();
+        engine.render("[b3log](b3log.org)", html);
+        Assert.assertTrue(name, html.toString().contains("href"));
+
+        html = new StringBuilder();
+        engine.render("<a href='data:text/html;base64,PHNjcmlwdD5hbGVydCgnWFNTJyk8L3NjcmlwdD4K'>a link</a>", html);
+        Assert.assertFalse(name, Markdowns.clean(html.toString(), "").contains("href"));
+
+        html = new StringBuilder();
+        engine.render("# Symphony\n\n**bold** and *em*\n\n    code\n\n* item", html);
+        Assert.assertTrue(name, html.toString().contains("<h1"));
+        Assert.assertTrue(name, html.toString().contains("<strong>bold</strong>"));
+        Assert.assertTrue(name, html.toString().contains("<em>em</em>"));
+        Assert.assertTrue(name, html.toString().contains("<li>"));
+        Assert.assertTrue(name, html.toString().contains("<code>"));
+
+        html = new StringBuilder();
+        engine.render(syntax(), html);
+        Assert.assertTrue(name, html.length() > 0);
+    }
+
+    /**
+     * Gets the markdown syntax document.
+     *
+     * @return markdown syntax document
+     * @throws Exception exception
+     */
+    static String syntax() throws Exception {
+        final URL mdResource = MarkdownsTestCase.class.getResource("/markdown_syntax.text");
+
+        return IOUtils.toString(new FileReader(mdResource.getPath()));
+    }
+
+    /**
+     * The legacy (clean and parse again) implementation of {@link Markdowns#clean(java.lang.String, java.lang.String)},
+     * without the audio handling.
+     *
+     * @param content the specified content
+     * @param baseURI the specified base URI
+     * @return safe HTML content
+     */
+    static String legacyClean(final String content, final String baseURI) {
+        final Document.OutputSettings outputSettings = new Document.OutputSettings();
+        outputSettings.prettyPrint(false);
+
+        final String tmp = Jsoup.clean(content, baseURI, Whitelist.relaxed().
+                addAttributes(":all", "id", "target", "class").
+                addTags("span", "hr").addAttributes("iframe", "src", "width", "height")
+                .addAttributes("audio", "controls", "src"), outputSettings);
+        final Document doc = Jsoup.parse(tmp, baseURI, Parser.xmlParser());
+        for (final Element iframe : doc.getElementsByTag("iframe")) {
+            if (!iframe.attr("src").startsWith("https://wide.b3log.org")) {
+                iframe.remove();
+            }
+        }
+
+        for (final Element p : doc.getElementsByTag("p")) {
+            p.removeAttr("style");
+        }
+
+        for (final Element a : doc.getElementsByTag("a")) {
+            a.attr("rel", "nofollow");
+
+            if (!a.attr("href").startsWith(Latkes.getServePath())) {
+                a.attr("target", "_blank");
+            }
+        }
+
+        for (final Element audio : doc.getElementsByTag("audio")) {
+            final String src = audio.attr("src");
+            if (!StringUtils.contains(src, "qnssl.com") && !StringUtils.contains(src, "clouddn.com")) {
+                audio.remove();
+            }
+        }
+
+        return doc.html();
+    }
 }
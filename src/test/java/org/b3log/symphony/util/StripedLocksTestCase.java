@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.util;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import junit.framework.Assert;
+import org.b3log.latke.Latkes;
+import org.testng.annotations.Test;
+
+/**
+ * Striped locks test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.1, Oct 17, 2026
+ * @since 1.4.0
+ */
+public class StripedLocksTestCase {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Tests {@link StripedLocks#get(java.lang.Object)}.
+     */
+    @Test
+    public void get() {
+        final StripedLocks locks = new StripedLocks(100);
+
+        final Set<Lock> distinct = new HashSet<Lock>();
+        for (int i = 0; i < 10000; i++) {
+            final String key = String.valueOf(1453702040000L + i);
+
+            Assert.assertSame(locks.get(key), locks.get(new String(key)));
+            distinct.add(locks.get(key));
+        }
+
+        Assert.assertEquals(128, distinct.size());
+    }
+
+    /**
+     * Tests that a user holding the lock does not block other users.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void parallel() throws Exception {
+        final StripedLocks locks = new StripedLocks(256);
+        final String userA = "1453702040001";
+        String userB = null;
+        for (int i = 2; null == userB; i++) {
+            final String userId = String.valueOf(1453702040000L + i);
+            if (locks.get(userId) != locks.get(userA)) {
+                userB = userId;
+            }
+        }
+
+        final Lock lockA = locks.get(userA);
+        lockA.lock();
+
+        try {
+            final Lock lockB = locks.get(userB);
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+            final Future<Boolean> b = executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    if (!lockB.tryLock(1, TimeUnit.SECONDS)) {
+                        return false;
+                    }
+
+                    lockB.unlock();
+
+                    return !lockA.tryLock();
+                }
+            });
+
+            Assert.assertTrue(b.get());
+            executor.shutdown();
+        } finally {
+            lockA.unlock();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2012-2016, b3log.org & hacpai.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.b3log.symphony.util;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentMap;
+import junit.framework.Assert;
+import org.b3log.latke.Latkes;
+import org.testng.annotations.Test;
+
+/**
+ * Times utilities test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.2, Oct 17, 2026
+ * @since 1.4.0
+ */
+public class TimesTestCase {
+
+    static {
+        Latkes.initRuntimeEnv();
+    }
+
+    /**
+     * Locale used in tests, the label table of it is put directly.
+     */
+    static final Locale LOCALE = new Locale("xx", "TIMES");
+
+    /**
+     * Language labels.
+     */
+    private static final Map<String, String> LANGS = new HashMap<String, String>();
+
+    static {
+        LANGS.put("yearsAgoLabel", "年前");
+        LANGS.put("monthsAgoLabel", "个月前");
+        LANGS.put("weeksAgoLabel", "周前");
+        LANGS.put("daysAgoLabel", "天前");
+        LANGS.put("hoursAgoLabel", "小时前");
+        LANGS.put("minutesAgoLabel", "分钟前");
+        LANGS.put("justNowLabel", "刚刚");
+
+        try {
+            final Field field = Times.class.getDeclaredField("LABELS");
+            field.setAccessible(true);
+
+            @SuppressWarnings("unchecked")
+            final ConcurrentMap<Locale, String[][]> labels = (ConcurrentMap<Locale, String[][]>) field.get(null);
+            labels.put(LOCALE, Times.getLabels(LANGS));
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Minute.
+     */
+    private static final long MINUTE = 60 * 1000L;
+
+    /**
+     * Year (as {@link Times} counts).
+     */
+    static final long YEAR = 12 * 31 * 24 * 60 * MINUTE;
+
+    /**
+     * Tests {@link Times#format(long, java.lang.String[][])} against the legacy implementation.
+     */
+    @Test
+    public void format() {
+        final String[][] labels = Times.getLabels(LANGS);
+
+        final long[] diffs = {
+            -1000, 0, MINUTE, MINUTE + 1, 59 * MINUTE, 60 * MINUTE, 60 * MINUTE + 1, 24 * 60 * MINUTE + 1,
+            7 * 24 * 60 * MINUTE + 1, 31 * 24 * 60 * MINUTE + 1, YEAR, YEAR + 1, 63 * YEAR + 1, 64 * YEAR + 1,
+            1000 * YEAR
+        };
+        for (final long diff : diffs) {
+            Assert.assertEquals(String.valueOf(diff), legacyFormat(diff), Times.format(diff, labels));
+        }
+
+        final Random random = new Random(20261016L);
+        for (int i = 0; i < 100000; i++) {
+            final long diff = (long) (Math.pow(random.nextDouble(), 4) * 100 * YEAR);
+
+            Assert.assertEquals(String.valueOf(diff), legacyFormat(diff), Times.format(diff, labels));
+        }
+
+        Assert.assertEquals("3 分钟前", Times.format(3 * MINUTE + 1, labels));
+        Assert.assertEquals("刚刚", Times.format(MINUTE, labels));
+    }
+
+    /**
+     * Tests {@link Times#getTimeAgos(long[], java.util.Locale)}.
+     */
+    @Test
+    public void getTimeAgos() {
+        final long now = System.currentTimeMillis();
+        final long[] times = {now, now - 5 * MINUTE - 1000, now - 2 * YEAR - 1000};
+
+        final String[] timeAgos = Times.getTimeAgos(times, LOCALE);
+
+        Assert.assertEquals(3, timeAgos.length);
+        Assert.assertEquals("刚刚", timeAgos[0]);
+        Assert.assertEquals("5 分钟前", timeAgos[1]);
+        Assert.assertEquals("2 年前", timeAgos[2]);
+        Assert.assertEquals(timeAgos[1], Times.getTimeAgo(times[1], LOCALE));
+    }
+
+    /**
+     * The legacy implementation of {@link Times#format(long, java.lang.String[][])}.
+     *
+     * @param diff the specified time difference
+     * @return time ago text
+     */
+    static String legacyFormat(final long diff) {
+        final long[] units = {YEAR, YEAR / 12, 7 * 24 * 60 * MINUTE, 24 * 60 * MINUTE, 60 * MINUTE, MINUTE};
+        final String[] keys = {
+            "yearsAgoLabel", "monthsAgoLabel", "weeksAgoLabel", "daysAgoLabel", "hoursAgoLabel", "minutesAgoLabel"
+        };
+
+        for (int i = 0; i < units.length; i++) {
+            if (diff > units[i]) {
+                return diff / units[i] + " " + LANGS.get(keys[i]);
+            }
+        }
+
+        return LANGS.get("justNowLabel");
+    }
+}